@@ -0,0 +1,82 @@
+package com.UI.auth;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser state of a logged-in user: cookies plus localStorage and sessionStorage of one origin
+ */
+public final class AuthState {
+    private final String origin;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant capturedAt;
+
+    /**
+     * Constructor for AuthState
+     * @param origin Origin the state was captured on, e.g. https://www.example.com
+     * @param cookies Cookies visible to the origin
+     * @param localStorage localStorage entries
+     * @param sessionStorage sessionStorage entries
+     * @param capturedAt Capture time
+     */
+    public AuthState(String origin, List<Cookie> cookies, Map<String, String> localStorage,
+                     Map<String, String> sessionStorage, Instant capturedAt) {
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(new ArrayList<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new HashMap<>(localStorage));
+        this.sessionStorage = Collections.unmodifiableMap(new HashMap<>(sessionStorage));
+        this.capturedAt = capturedAt;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    /**
+     * Check whether the state is older than the TTL or any cookie has expired
+     * @param now Current time
+     * @param ttlMillis Maximum age in milliseconds
+     * @return true if the state should not be reused
+     */
+    public boolean isExpired(Instant now, long ttlMillis) {
+        if (now.isAfter(capturedAt.plusMillis(ttlMillis))) {
+            return true;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AuthState[%s, cookies=%d, localStorage=%d, sessionStorage=%d, captured=%s]",
+                origin, cookies.size(), localStorage.size(), sessionStorage.size(), capturedAt);
+    }
+}
@@ -0,0 +1,216 @@
+package com.UI.auth;
+
+import com.UI.config.ConfigManager;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Caches the logged-in browser state per user and base.url so only one test per user logs in
+ * through the UI; other sessions get the captured cookies and web storage injected instead.
+ * State is kept in memory only and expires after auth.cache.ttl.minutes.
+ */
+public class AuthStateCache {
+    private static final Logger LOGGER = LoggerUtil.getLogger(AuthStateCache.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final Map<String, AuthState> STATES = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> LOGIN_LOCKS = new ConcurrentHashMap<>();
+    private static final AtomicInteger RESTORES = new AtomicInteger();
+    private static final AtomicInteger UI_LOGINS = new AtomicInteger();
+
+    private static final String READ_STORAGE_SCRIPT =
+            "var read = function(storage) { var entries = {};"
+            + "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); entries[key] = storage.getItem(key); }"
+            + "  return entries; };"
+            + "return [read(window.localStorage), read(window.sessionStorage)];";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var write = function(storage, entries) {"
+            + "  Object.keys(entries).forEach(function(key) { storage.setItem(key, entries[key]); }); };"
+            + "write(window.localStorage, arguments[0]); write(window.sessionStorage, arguments[1]);";
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "window.localStorage.clear(); window.sessionStorage.clear();";
+
+    private AuthStateCache() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Log in as a user, restoring cached state when possible. Concurrent callers for the same user
+     * wait for a single UI login instead of each driving the login form.
+     * @param driver WebDriver instance
+     * @param user User name; part of the cache key
+     * @param uiLogin Logs in through the UI
+     * @param loggedIn Checks that the UI login succeeded before its state is captured
+     * @param restoreAccepted Checks, after navigating to base.url, that the server accepted restored
+     *                        state; must look at the rendered page, since restore injects the cookies itself
+     * @return true if cached state was reused, false if the UI login ran
+     */
+    public static boolean login(WebDriver driver, String user, Runnable uiLogin, Predicate<WebDriver> loggedIn,
+                                Predicate<WebDriver> restoreAccepted) {
+        if (restoreVerified(driver, user, restoreAccepted)) {
+            return true;
+        }
+        ReentrantLock lock = LOGIN_LOCKS.computeIfAbsent(key(user), k -> new ReentrantLock());
+        lock.lock();
+        try {
+            // Another session may have logged in while this one waited
+            if (restoreVerified(driver, user, restoreAccepted)) {
+                return true;
+            }
+            uiLogin.run();
+            UI_LOGINS.incrementAndGet();
+            if (loggedIn.test(driver)) {
+                capture(driver, user);
+            } else {
+                LOGGER.warn("UI login for {} did not produce a logged-in session; state not cached", user);
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Capture the current browser state for a user
+     * @param driver WebDriver instance on a page of base.url's origin
+     * @param user User name
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String user) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            List<Object> storage = (List<Object>) ((JavascriptExecutor) driver)
+                    .executeScript(READ_STORAGE_SCRIPT);
+            AuthState state = new AuthState(getOrigin(), new ArrayList<>(driver.manage().getCookies()),
+                    toStringMap((Map<String, Object>) storage.get(0)),
+                    toStringMap((Map<String, Object>) storage.get(1)), Instant.now());
+            STATES.put(key(user), state);
+            LOGGER.info("Cached login state for {}: {}", user, state);
+        } catch (WebDriverException | ClassCastException e) {
+            LOGGER.warn("Could not capture login state for {}: {}", user, e.getMessage());
+        }
+    }
+
+    /**
+     * Inject cached state for a user into a session. Opens auth.restore.path on the origin first,
+     * since cookies and web storage can only be set for the page being shown.
+     * @param driver WebDriver instance
+     * @param user User name
+     * @return true if state was injected
+     */
+    public static boolean restore(WebDriver driver, String user) {
+        if (!isEnabled()) {
+            return false;
+        }
+        AuthState state = STATES.get(key(user));
+        if (state == null) {
+            return false;
+        }
+        if (state.isExpired(Instant.now(), getTtlMillis())) {
+            LOGGER.info("Cached login state for {} expired", user);
+            STATES.remove(key(user), state);
+            return false;
+        }
+        try {
+            driver.get(state.getOrigin() + CONFIG_MANAGER.getProperty("auth.restore.path", "/robots.txt"));
+            for (Cookie cookie : state.getCookies()) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT,
+                    state.getLocalStorage(), state.getSessionStorage());
+            RESTORES.incrementAndGet();
+            LOGGER.info("Restored cached login state for {}", user);
+            return true;
+        } catch (WebDriverException e) {
+            LOGGER.warn("Could not restore login state for {}: {}", user, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Drop cached state, e.g. after the application rejected it
+     * @param user User name
+     */
+    public static void invalidate(String user) {
+        if (STATES.remove(key(user)) != null) {
+            LOGGER.info("Invalidated cached login state for {}", user);
+        }
+    }
+
+    /**
+     * Drop cached state for all users
+     */
+    public static void invalidateAll() {
+        STATES.clear();
+    }
+
+    /**
+     * Log how many logins were served from the cache
+     */
+    public static void logMetrics() {
+        if (RESTORES.get() + UI_LOGINS.get() > 0) {
+            LOGGER.info("Login state cache: {} restored, {} UI login(s)", RESTORES.get(), UI_LOGINS.get());
+        }
+    }
+
+    private static boolean restoreVerified(WebDriver driver, String user, Predicate<WebDriver> restoreAccepted) {
+        if (!restore(driver, user)) {
+            return false;
+        }
+        driver.get(CONFIG_MANAGER.getProperty("base.url"));
+        if (restoreAccepted.test(driver)) {
+            return true;
+        }
+        LOGGER.warn("Application rejected cached login state for {}", user);
+        invalidate(user);
+        // The page is on the restore origin, so the injected storage goes with the cookies and
+        // neither the UI login nor its capture starts from the rejected state
+        try {
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        } catch (WebDriverException e) {
+            LOGGER.warn("Could not clear rejected login state for {}: {}", user, e.getMessage());
+        }
+        return false;
+    }
+
+    private static boolean isEnabled() {
+        return Boolean.parseBoolean(CONFIG_MANAGER.getProperty("auth.cache.enabled", "true"));
+    }
+
+    private static long getTtlMillis() {
+        return TimeUnit.MINUTES.toMillis(Long.parseLong(CONFIG_MANAGER.getProperty("auth.cache.ttl.minutes", "30")));
+    }
+
+    private static String key(String user) {
+        return user + "@" + getOrigin();
+    }
+
+    private static String getOrigin() {
+        URI uri = URI.create(CONFIG_MANAGER.getProperty("base.url"));
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> values) {
+        Map<String, String> result = new HashMap<>();
+        values.forEach((key, value) -> result.put(key, String.valueOf(value)));
+        return result;
+    }
+}
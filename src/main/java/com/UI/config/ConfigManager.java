@@ -57,6 +57,19 @@ public class ConfigManager {
         return PROPERTIES.getProperty(key, defaultValue);
     }
 
+    /**
+     * Override a property for the rest of the run, e.g. to point a unit test at a stub service
+     * @param key Property key
+     * @param value New value; null removes the property, e.g. when restoring one that was not set
+     */
+    public void setProperty(String key, String value) {
+        if (value == null) {
+            PROPERTIES.remove(key);
+        } else {
+            PROPERTIES.setProperty(key, value);
+        }
+    }
+
     /**
      * Get integer property
      */
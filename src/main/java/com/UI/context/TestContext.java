@@ -0,0 +1,321 @@
+package com.UI.context;
+
+import com.UI.utils.LoggerUtil;
+import com.UI.utils.TestLogBuffer;
+import com.aventstack.extentreports.ExtentTest;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-test state shared by the framework managers: driver, report node, log buffer,
+ * timing and trace state, and produced artifacts.
+ *
+ * A context is bound to the thread running the test and can be bound explicitly on
+ * other threads with {@link #bind()} or {@link #wrap(Runnable)}, so background work
+ * (screenshot encoding, report writing) still sees the test it belongs to.
+ * Components register cleanup with {@link #onClose(Runnable)} when they start, and
+ * {@link #close()} runs it in reverse order, even if setup stopped halfway.
+ */
+public final class TestContext implements AutoCloseable {
+    private static final Logger LOGGER = LoggerUtil.getLogger(TestContext.class);
+
+    /**
+     * ITestResult attribute holding the context, for listeners running on another thread
+     */
+    public static final String RESULT_ATTRIBUTE = TestContext.class.getName();
+
+    private static final ThreadLocal<TestContext> CURRENT = new ThreadLocal<>();
+    private static final AtomicLong TEST_COUNTER = new AtomicLong();
+
+    private final String testId;
+    private final Map<Key<?>, Object> attributes = new ConcurrentHashMap<>();
+    private final List<Path> artifacts = new CopyOnWriteArrayList<>();
+    private final Deque<Runnable> cleanups = new ConcurrentLinkedDeque<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile WebDriver driver;
+    private volatile ExtentTest extentTest;
+    private volatile TestLogBuffer logBuffer;
+    private volatile Throwable failure;
+
+    private TestContext(String testId) {
+        this.testId = testId;
+    }
+
+    /**
+     * Create a context for a test and bind it to the current thread
+     * @param testName Human readable test name
+     * @return New context with a unique test id
+     */
+    public static TestContext open(String testName) {
+        TestContext context = new TestContext(testName + "#" + TEST_COUNTER.incrementAndGet());
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * Get the context bound to the current thread, for code that registers cleanup on it.
+     * Class-level setup must open and close its own context, since nothing else would close it.
+     * @return Current context
+     * @throws IllegalStateException If no context is bound
+     */
+    public static TestContext require() {
+        TestContext context = CURRENT.get();
+        if (context == null) {
+            throw new IllegalStateException("no TestContext bound");
+        }
+        return context;
+    }
+
+    /**
+     * Get the context bound to the current thread
+     * @return Current context, or null outside a test
+     */
+    public static TestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Get the context of a TestNG result, falling back to the current thread
+     * @param result TestNG result
+     * @return Context, or null if the test has none
+     */
+    public static TestContext of(ITestResult result) {
+        Object context = result == null ? null : result.getAttribute(RESULT_ATTRIBUTE);
+        return context instanceof TestContext ? (TestContext) context : current();
+    }
+
+    /**
+     * Wrap a task so it runs with the current thread's context bound.
+     * Returns the task unchanged when no context is bound.
+     * @param task Task to run on another thread
+     * @return Wrapped task
+     */
+    public static Runnable propagate(Runnable task) {
+        TestContext context = current();
+        return context == null ? task : context.wrap(task);
+    }
+
+    /**
+     * Bind this context to the current thread until the returned scope is closed
+     * @return Scope restoring the previous binding
+     */
+    public Scope bind() {
+        TestContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Wrap a task so it runs with this context bound
+     * @param task Task to wrap
+     * @return Wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            try (Scope ignored = bind()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wrap a supplier so it runs with this context bound
+     * @param supplier Supplier to wrap
+     * @param <T> Result type
+     * @return Wrapped supplier
+     */
+    public <T> Supplier<T> wrap(Supplier<T> supplier) {
+        return () -> {
+            try (Scope ignored = bind()) {
+                return supplier.get();
+            }
+        };
+    }
+
+    /**
+     * Register cleanup to run when the context closes.
+     * Runs immediately if the context is already closed.
+     * @param cleanup Cleanup action
+     */
+    public void onClose(Runnable cleanup) {
+        if (closed.get()) {
+            runCleanup(cleanup);
+            return;
+        }
+        cleanups.push(cleanup);
+    }
+
+    /**
+     * Run registered cleanup, most recent first, with this context bound, then unbind it.
+     * A failing cleanup is logged and does not stop the others. Safe to call more than once.
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try (Scope ignored = bind()) {
+            Runnable cleanup;
+            while ((cleanup = cleanups.poll()) != null) {
+                runCleanup(cleanup);
+            }
+        }
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        LOGGER.debug("Closed test context: {}", testId);
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    public void setDriver(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public ExtentTest getExtentTest() {
+        return extentTest;
+    }
+
+    public void setExtentTest(ExtentTest extentTest) {
+        this.extentTest = extentTest;
+    }
+
+    public TestLogBuffer getLogBuffer() {
+        return logBuffer;
+    }
+
+    public void setLogBuffer(TestLogBuffer logBuffer) {
+        this.logBuffer = logBuffer;
+    }
+
+    /**
+     * Get the failure recorded for the test
+     * @return Failure, or null if the test has not failed
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public void setFailure(Throwable failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * Record a file produced by the test, e.g. a screenshot
+     * @param artifact Artifact path
+     */
+    public void addArtifact(Path artifact) {
+        artifacts.add(artifact);
+    }
+
+    /**
+     * Get files produced by the test, in creation order
+     * @return Snapshot of artifact paths
+     */
+    public List<Path> getArtifacts() {
+        return new ArrayList<>(artifacts);
+    }
+
+    /**
+     * Get component-private state
+     * @param key Attribute key
+     * @param <T> Value type
+     * @return Value, or null if not set
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key<T> key) {
+        return (T) attributes.get(key);
+    }
+
+    /**
+     * Store component-private state
+     * @param key Attribute key
+     * @param value Value; null removes the attribute
+     * @param <T> Value type
+     */
+    public <T> void put(Key<T> key, T value) {
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, value);
+        }
+    }
+
+    /**
+     * Get component-private state, creating it on first use
+     * @param key Attribute key
+     * @param factory Creates the initial value
+     * @param <T> Value type
+     * @return Existing or new value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T computeIfAbsent(Key<T> key, Supplier<T> factory) {
+        return (T) attributes.computeIfAbsent(key, ignored -> factory.get());
+    }
+
+    private void runCleanup(Runnable cleanup) {
+        try {
+            cleanup.run();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cleanup failed for test context {}", testId, e);
+        }
+    }
+
+    /**
+     * Identity key for component-private state stored on the context
+     * @param <T> Value type
+     */
+    public static final class Key<T> {
+        private final String name;
+
+        private Key(String name) {
+            this.name = name;
+        }
+
+        public static <T> Key<T> of(String name) {
+            return new Key<>(name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Binding of a context to a thread
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
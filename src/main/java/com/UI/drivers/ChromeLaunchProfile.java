@@ -0,0 +1,59 @@
+package com.UI.drivers;
+
+import com.UI.config.ConfigManager;
+import org.openqa.selenium.chromium.ChromiumOptions;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Launch flags for Chrome and Edge. The "fast" profile (browser.launch.profile=fast) turns off
+ * background services, extensions, GPU compositing and first-run work, and opens a fixed
+ * browser.window.size window so sessions skip the maximize() call.
+ */
+public class ChromeLaunchProfile {
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final List<String> FAST_ARGUMENTS = Arrays.asList(
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-sync",
+            "--disable-extensions",
+            "--disable-default-apps",
+            "--disable-gpu",
+            "--disable-client-side-phishing-detection",
+            "--disable-domain-reliability",
+            "--disable-breakpad",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            // Parallel sessions share a host; keep unfocused windows running at full speed
+            "--disable-background-timer-throttling",
+            "--disable-backgrounding-occluded-windows",
+            "--disable-renderer-backgrounding",
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--metrics-recording-only",
+            "--password-store=basic",
+            "--mute-audio");
+
+    private ChromeLaunchProfile() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether the fast profile applies to a browser
+     * @param browser Browser name
+     * @return true for Chrome and Edge when browser.launch.profile=fast
+     */
+    public static boolean isFast(String browser) {
+        return "fast".equalsIgnoreCase(CONFIG_MANAGER.getProperty("browser.launch.profile", "default"))
+                && ("chrome".equals(browser) || "edge".equals(browser));
+    }
+
+    /**
+     * Add the fast profile flags and window size
+     * @param options Chrome or Edge options
+     */
+    public static void apply(ChromiumOptions<?> options) {
+        options.addArguments(FAST_ARGUMENTS);
+        options.addArguments("--window-size=" + CONFIG_MANAGER.getProperty("browser.window.size", "1366,768"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.UI.drivers;
+
+import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
+import com.UI.grid.CommandResult;
+import com.UI.grid.ProcessCommandRunner;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Pre-initialized Chrome user-data-dir that local sessions clone instead of starting from an
+ * empty profile. The template is created once by launching Chrome against it; each session then
+ * gets a copy (a copy-on-write reflink where the filesystem supports it) that is deleted after
+ * the driver quits.
+ */
+public class ChromeUserDataTemplate {
+    private static final Logger LOGGER = LoggerUtil.getLogger(ChromeUserDataTemplate.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    // Chrome's single-instance locks; a copied lock would make the clone look in use
+    private static final Set<String> LOCK_FILES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile")));
+    private static final boolean IS_LINUX = System.getProperty("os.name", "").toLowerCase().contains("linux");
+
+    private static volatile boolean prepared;
+
+    private ChromeUserDataTemplate() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether a template directory is configured
+     * @return true if browser.user.data.template is set
+     */
+    public static boolean isConfigured() {
+        return !CONFIG_MANAGER.getProperty("browser.user.data.template", "").trim().isEmpty();
+    }
+
+    /**
+     * Clone the template for a new session, creating the template first if needed.
+     * The clone is deleted when the current test context closes.
+     * @param baseOptions Options the session will use; the template is initialized with the same flags
+     * @return Directory to pass as --user-data-dir
+     */
+    public static Path cloneForSession(ChromeOptions baseOptions) {
+        Path template = Paths.get(CONFIG_MANAGER.getProperty("browser.user.data.template").trim()).toAbsolutePath();
+        try {
+            prepare(template, baseOptions);
+            Path clone = Files.createTempDirectory("chrome-profile-");
+            long start = System.nanoTime();
+            copy(template, clone);
+            LOGGER.debug("Cloned Chrome profile template to {} in {} ms", clone, (System.nanoTime() - start) / 1_000_000);
+            TestContext.require().onClose(() -> delete(clone));
+            return clone;
+        } catch (IOException e) {
+            LOGGER.error("Failed to clone Chrome profile template: {}", template, e);
+            throw new RuntimeException("Failed to clone Chrome profile template: " + template, e);
+        }
+    }
+
+    private static synchronized void prepare(Path template, ChromeOptions baseOptions) throws IOException {
+        if (prepared) {
+            return;
+        }
+        if (!Files.exists(template.resolve("Local State"))) {
+            LOGGER.info("Creating Chrome profile template in {}", template);
+            Files.createDirectories(template);
+            ChromeOptions options = new ChromeOptions().merge(baseOptions);
+            options.addArguments("--user-data-dir=" + template);
+            WebDriver driver = new ChromeDriver(options);
+            try {
+                driver.get("about:blank");
+            } finally {
+                driver.quit();
+            }
+        }
+        prepared = true;
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        if (IS_LINUX) {
+            // GNU cp shares blocks with the template on btrfs/XFS and falls back to a plain copy elsewhere
+            CommandResult result = new ProcessCommandRunner().run(Arrays.asList(
+                    "cp", "-R", "--reflink=auto", source + "/.", target.toString()), Duration.ofSeconds(60));
+            if (result.isSuccess()) {
+                for (String lock : LOCK_FILES) {
+                    Files.deleteIfExists(target.resolve(lock));
+                }
+                return;
+            }
+            LOGGER.debug("cp failed ({}); copying profile template in Java", result);
+        }
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!LOCK_FILES.contains(file.getFileName().toString()) && attrs.isRegularFile()) {
+                    Files.copy(file, target.resolve(source.relativize(file).toString()),
+                            StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void delete(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    LOGGER.debug("Could not delete {}: {}", path, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete Chrome profile clone {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,25 @@
 package com.UI.drivers;
 
 import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
+import com.UI.grid.GridCapacityMonitor;
+import com.UI.grid.GridStatusClient;
+import com.UI.metrics.CommandTimingListener;
+import com.UI.metrics.Phase;
+import com.UI.metrics.PhaseTimer;
+import com.UI.network.NetworkConditioner;
+import com.UI.network.NetworkProfile;
+import com.UI.retry.RetryEngine;
+import com.UI.retry.RetryPolicy;
+import com.UI.retry.RetryingDriverDecorator;
+import com.UI.tracing.TraceSpan;
+import com.UI.tracing.Tracer;
+import com.UI.utils.KubernetesUtil;
 import com.UI.utils.LoggerUtil;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -11,19 +27,22 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.Collections;
 
 /**
  * Manages WebDriver instances for test execution
  */
 public class DriverManager {
     private static final Logger LOGGER = LoggerUtil.getLogger(DriverManager.class);
-    private static final ThreadLocal<WebDriver> DRIVER_THREAD_LOCAL = new ThreadLocal<>();
     private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
 
     private DriverManager() {
@@ -31,61 +50,131 @@ public class DriverManager {
     }
 
     /**
-     * Initialize WebDriver based on configuration
+     * Initialize WebDriver based on configuration.
+     * The driver is stored on the current test context and quit when the context closes.
      * @return WebDriver instance
      */
     public static WebDriver initializeDriver() {
         String browser = CONFIG_MANAGER.getProperty("browser", "chrome").toLowerCase();
         String executionMode = CONFIG_MANAGER.getProperty("execution.mode", "local").toLowerCase();
         boolean headless = CONFIG_MANAGER.getBooleanProperty("headless");
+        PageLoadStrategy pageLoadStrategy = PageLoadStrategy.fromString(
+                CONFIG_MANAGER.getProperty("page.load.strategy", "normal").toLowerCase());
+        NetworkProfile networkProfile = NetworkProfile.forCurrentTest();
         WebDriver driver;
 
-        LOGGER.info("Initializing WebDriver: Browser={}, Mode={}, Headless={}", 
-                    browser, executionMode, headless);
-
-        try {
-            switch (executionMode) {
-                case "grid":
-                    driver = initializeRemoteDriver(browser, headless, executionMode);
-                    break;
-                case "remote":
-                    driver = initializeRemoteDriver(browser, headless, executionMode);
-                    break;
-                default:
-                    driver = initializeLocalDriver(browser, headless);
+        LOGGER.info("Initializing WebDriver: Browser={}, Mode={}, Headless={}, PageLoadStrategy={}",
+                    browser, executionMode, headless, pageLoadStrategy);
+
+        TestContext context = TestContext.require();
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.DRIVER_SETUP)) {
+            if (!"local".equals(executionMode)) {
+                awaitHubTunnel();
+                if (GridCapacityMonitor.isEnabled()) {
+                    GridCapacityMonitor.acquireSlot();
+                }
+            }
+            // Grid 5xx, refused connections and session-not-created errors get another attempt
+            driver = RetryEngine.call("new session", RetryPolicy.forSessions(),
+                    attempt -> createSession(browser, headless, executionMode, pageLoadStrategy, networkProfile));
+            // Registered before anything else can fail, so the session is never orphaned. Cleanup runs
+            // most recent first: the DevTools connection of a network profile closes after the quit.
+            context.setDriver(driver);
+            context.onClose(NetworkConditioner::close);
+            context.onClose(DriverManager::quitDriver);
+            NetworkConditioner.apply(driver, networkProfile);
+
+            if (Tracer.isEnabled()) {
+                recordSessionAttributes(driver, browser, executionMode);
+            }
+            if (RetryPolicy.isEnabled()) {
+                driver = new RetryingDriverDecorator().decorate(driver);
+            }
+            boolean recordMetrics = CONFIG_MANAGER.getBooleanProperty("metrics.command.enabled");
+            if (recordMetrics || Tracer.isEnabled()) {
+                driver = new EventFiringDecorator<>(new CommandTimingListener(recordMetrics, Tracer.isEnabled()))
+                        .decorate(driver);
             }
 
-            configureDriverTimeouts(driver);
-            DRIVER_THREAD_LOCAL.set(driver);
+            // A shared browser's window is sized at launch and belongs to every test in it
+            configureDriverTimeouts(driver, !ChromeLaunchProfile.isFast(browser)
+                    && !SharedChromeBrowser.appliesTo(browser, executionMode));
+            context.setDriver(driver);
             LOGGER.info("WebDriver initialized successfully");
             return driver;
         } catch (Exception e) {
+            // Quits a session that was already started; releases the Grid slot either way
+            try {
+                quitDriver();
+            } catch (RuntimeException quitFailure) {
+                e.addSuppressed(quitFailure);
+            }
+            GridCapacityMonitor.releaseSlot();
             LOGGER.error("Failed to initialize WebDriver", e);
             e.printStackTrace();
             throw new RuntimeException("Failed to initialize WebDriver", e);
         }
     }
 
+    /**
+     * Start a browser session for the execution mode
+     * @param browser Browser name
+     * @param headless Headless mode flag
+     * @param executionMode Execution mode (local, grid or remote)
+     * @param pageLoadStrategy When driver.get returns
+     * @param networkProfile Network profile for Chromium browsers
+     * @return WebDriver instance
+     */
+    private static WebDriver createSession(String browser, boolean headless, String executionMode,
+                                           PageLoadStrategy pageLoadStrategy, NetworkProfile networkProfile) {
+        switch (executionMode) {
+            case "grid":
+            case "remote":
+                try {
+                    return initializeRemoteDriver(browser, headless, executionMode, pageLoadStrategy, networkProfile);
+                } catch (MalformedURLException e) {
+                    throw new RuntimeException("Invalid remote URL for execution mode " + executionMode, e);
+                }
+            default:
+                return initializeLocalDriver(browser, headless, pageLoadStrategy, networkProfile);
+        }
+    }
+
     /**
      * Initialize local WebDriver
      * @param browser Browser name
      * @param headless Headless mode flag
+     * @param pageLoadStrategy When driver.get returns: normal (load), eager (DOMContentLoaded) or none
+     * @param networkProfile Network profile for Chromium browsers
      * @return WebDriver instance
      */
-    private static WebDriver initializeLocalDriver(String browser, boolean headless) {
+    private static WebDriver initializeLocalDriver(String browser, boolean headless, PageLoadStrategy pageLoadStrategy,
+                                                   NetworkProfile networkProfile) {
         switch (browser) {
             case "chrome":
                 WebDriverManager.chromedriver().setup();
+                if (SharedChromeBrowser.isEnabled()) {
+                    return newSharedChromeSession(headless, pageLoadStrategy, networkProfile);
+                }
                 ChromeOptions chromeOptions = new ChromeOptions();
+                chromeOptions.setPageLoadStrategy(pageLoadStrategy);
                 if (headless) {
                     chromeOptions.addArguments("--headless=new");
                 }
                 chromeOptions.addArguments("--no-sandbox");
                 chromeOptions.addArguments("--disable-dev-shm-usage");
+                NetworkConditioner.configure(chromeOptions, networkProfile);
+                if (ChromeLaunchProfile.isFast(browser)) {
+                    ChromeLaunchProfile.apply(chromeOptions);
+                }
+                if (ChromeLaunchProfile.isFast(browser) && ChromeUserDataTemplate.isConfigured()) {
+                    chromeOptions.addArguments("--user-data-dir=" + ChromeUserDataTemplate.cloneForSession(chromeOptions));
+                }
                 return new ChromeDriver(chromeOptions);
             case "firefox":
                 WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.setPageLoadStrategy(pageLoadStrategy);
                 if (headless) {
                     firefoxOptions.addArguments("--headless");
                 }
@@ -93,13 +182,18 @@ public class DriverManager {
             case "edge":
                 WebDriverManager.edgedriver().setup();
                 EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.setPageLoadStrategy(pageLoadStrategy);
                 if (headless) {
                     edgeOptions.addArguments("--headless");
                 }
+                NetworkConditioner.configure(edgeOptions, networkProfile);
+                if (ChromeLaunchProfile.isFast(browser)) {
+                    ChromeLaunchProfile.apply(edgeOptions);
+                }
                 return new EdgeDriver(edgeOptions);
             case "safari":
                 WebDriverManager.safaridriver().setup();
-                return new SafariDriver();
+                return new SafariDriver(new SafariOptions().setPageLoadStrategy(pageLoadStrategy));
             default:
                 LOGGER.warn("Unsupported browser: {}. Using Chrome instead.", browser);
                 WebDriverManager.chromedriver().setup();
@@ -107,61 +201,171 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Attach a session to the shared Chrome browser. The browser outlives the test that launches it,
+     * so it is launched from suite-level settings only; per-test preferences such as a network
+     * profile's image blocking would leak into every later context and are not applied.
+     * @param headless Headless mode flag
+     * @param pageLoadStrategy When driver.get returns
+     * @param networkProfile Network profile of the test
+     * @return WebDriver instance
+     */
+    private static WebDriver newSharedChromeSession(boolean headless, PageLoadStrategy pageLoadStrategy,
+                                                    NetworkProfile networkProfile) {
+        ChromeOptions launchOptions = new ChromeOptions();
+        if (headless) {
+            launchOptions.addArguments("--headless=new");
+        }
+        launchOptions.addArguments("--no-sandbox");
+        launchOptions.addArguments("--disable-dev-shm-usage");
+        if (ChromeLaunchProfile.isFast("chrome")) {
+            ChromeLaunchProfile.apply(launchOptions);
+        } else {
+            launchOptions.addArguments("--window-size=" + CONFIG_MANAGER.getProperty("browser.window.size", "1366,768"));
+        }
+        if (networkProfile.isBlockImages()) {
+            LOGGER.warn("Network profile {} blocks images, which browser.sharing=contexts cannot apply per test",
+                    networkProfile.getName());
+        }
+        ChromeOptions sessionOptions = new ChromeOptions();
+        sessionOptions.setPageLoadStrategy(pageLoadStrategy);
+        return SharedChromeBrowser.newIsolatedSession(launchOptions, sessionOptions);
+    }
+
     /**
      * Initialize remote WebDriver
      * @param browser Browser name
      * @param headless Headless mode flag
      * @param executionMode Execution mode (grid or remote)
+     * @param pageLoadStrategy When driver.get returns: normal (load), eager (DOMContentLoaded) or none
+     * @param networkProfile Network profile for Chromium browsers
      * @return WebDriver instance
      * @throws MalformedURLException If remote URL is invalid
      */
-    private static WebDriver initializeRemoteDriver(String browser, boolean headless, String executionMode) 
+    private static WebDriver initializeRemoteDriver(String browser, boolean headless, String executionMode,
+                                                    PageLoadStrategy pageLoadStrategy, NetworkProfile networkProfile)
             throws MalformedURLException {
-        String remoteUrl = executionMode.equals("grid") 
-                ? CONFIG_MANAGER.getProperty("grid.url") 
-                : CONFIG_MANAGER.getProperty("remote.url");
+        String remoteUrl = getRemoteUrl(executionMode);
+        if (SharedChromeBrowser.isEnabled()) {
+            LOGGER.warn("browser.sharing=contexts applies to local Chrome only; using one browser per session");
+        }
         System.out.println("+++++++++++++++++Remote URL+++++"+remoteUrl);
         switch (browser) {
             case "chrome":
                 ChromeOptions chromeOptions = new ChromeOptions();
+                chromeOptions.setPageLoadStrategy(pageLoadStrategy);
                 if (headless) {
                     chromeOptions.addArguments("--headless=new");
                 }
                 chromeOptions.addArguments("--no-sandbox");
                 chromeOptions.addArguments("--disable-dev-shm-usage");
-                return new RemoteWebDriver(new URL(remoteUrl), chromeOptions);
+                NetworkConditioner.configure(chromeOptions, networkProfile);
+                if (ChromeLaunchProfile.isFast(browser)) {
+                    // The profile template lives on this machine, so remote sessions only get the flags
+                    ChromeLaunchProfile.apply(chromeOptions);
+                }
+                return newRemoteDriver(remoteUrl, chromeOptions);
             case "firefox":
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.setPageLoadStrategy(pageLoadStrategy);
                 if (headless) {
                     firefoxOptions.addArguments("--headless");
                 }
-                return new RemoteWebDriver(new URL(remoteUrl), firefoxOptions);
+                return newRemoteDriver(remoteUrl, firefoxOptions);
             case "edge":
                 EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.setPageLoadStrategy(pageLoadStrategy);
                 if (headless) {
                     edgeOptions.addArguments("--headless");
                 }
-                return new RemoteWebDriver(new URL(remoteUrl), edgeOptions);
+                NetworkConditioner.configure(edgeOptions, networkProfile);
+                if (ChromeLaunchProfile.isFast(browser)) {
+                    ChromeLaunchProfile.apply(edgeOptions);
+                }
+                return newRemoteDriver(remoteUrl, edgeOptions);
             default:
                 LOGGER.warn("Unsupported browser for remote execution: {}. Using Chrome instead.", browser);
                 ChromeOptions defaultOptions = new ChromeOptions();
+                defaultOptions.setPageLoadStrategy(pageLoadStrategy);
                 if (headless) {
                     defaultOptions.addArguments("--headless=new");
                 }
-                return new RemoteWebDriver(new URL(remoteUrl), defaultOptions);
+                NetworkConditioner.configure(defaultOptions, networkProfile);
+                return newRemoteDriver(remoteUrl, defaultOptions);
+        }
+    }
+
+    /**
+     * Create a remote session, sending its commands through the shared HTTP client when enabled
+     * @param remoteUrl Hub or remote end URL
+     * @param options Browser options
+     * @return RemoteWebDriver instance
+     * @throws MalformedURLException If the URL is invalid
+     */
+    private static RemoteWebDriver newRemoteDriver(String remoteUrl, Capabilities options) throws MalformedURLException {
+        URL url = new URL(remoteUrl);
+        if (!RemoteHttpClientFactory.isEnabled()) {
+            return new RemoteWebDriver(url, options);
+        }
+        HttpCommandExecutor executor = new HttpCommandExecutor(Collections.emptyMap(),
+                RemoteHttpClientFactory.clientConfig(url), RemoteHttpClientFactory.getShared());
+        return new RemoteWebDriver(executor, options);
+    }
+
+    /**
+     * Get hub URL for the execution mode
+     * @param executionMode Execution mode (grid or remote)
+     * @return Remote URL from configuration
+     */
+    private static String getRemoteUrl(String executionMode) {
+        return executionMode.equals("grid")
+                ? CONFIG_MANAGER.getProperty("grid.url")
+                : CONFIG_MANAGER.getProperty("remote.url");
+    }
+
+    /**
+     * Wait briefly for a restarting port-forward instead of failing the session on a connection timeout
+     */
+    private static void awaitHubTunnel() {
+        int waitSeconds = Integer.parseInt(CONFIG_MANAGER.getProperty("tunnel.wait.seconds", "30"));
+        if (!KubernetesUtil.awaitPortForward(Duration.ofSeconds(waitSeconds))) {
+            LOGGER.warn("Port-forward to the hub still unavailable after {} s; creating session anyway", waitSeconds);
+        }
+    }
+
+    /**
+     * Tag the current trace span with session details
+     * @param driver Undecorated WebDriver instance
+     * @param browser Browser name
+     * @param executionMode Execution mode
+     */
+    private static void recordSessionAttributes(WebDriver driver, String browser, String executionMode) {
+        TraceSpan span = Tracer.currentSpan()
+                .setAttribute("browser", browser)
+                .setAttribute("execution.mode", executionMode);
+        if (driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() != null) {
+            String sessionId = ((RemoteWebDriver) driver).getSessionId().toString();
+            span.setAttribute("session.id", sessionId);
+            if (!"local".equals(executionMode)) {
+                span.setAttribute("grid.node",
+                        new GridStatusClient(getRemoteUrl(executionMode)).findNodeForSession(sessionId));
+            }
         }
     }
 
     /**
      * Configure driver timeouts
      * @param driver WebDriver instance
+     * @param maximize Whether to maximize the window; false when the launch profile sets a window size
      */
-    private static void configureDriverTimeouts(WebDriver driver) {
+    private static void configureDriverTimeouts(WebDriver driver, boolean maximize) {
         int implicitWait = CONFIG_MANAGER.getIntProperty("implicit.wait");
         int pageLoadTimeout = CONFIG_MANAGER.getIntProperty("page.load.timeout");
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
-        driver.manage().window().maximize();
+        if (maximize) {
+            driver.manage().window().maximize();
+        }
     }
 
     /**
@@ -169,18 +373,24 @@ public class DriverManager {
      * @return WebDriver instance
      */
     public static WebDriver getDriver() {
-        return DRIVER_THREAD_LOCAL.get();
+        TestContext context = TestContext.current();
+        return context == null ? null : context.getDriver();
     }
 
     /**
-     * Quit WebDriver and clear thread local
+     * Quit WebDriver and remove it from the test context
      */
     public static void quitDriver() {
-        WebDriver driver = DRIVER_THREAD_LOCAL.get();
+        TestContext context = TestContext.current();
+        WebDriver driver = context == null ? null : context.getDriver();
         if (driver != null) {
-            driver.quit();
-            DRIVER_THREAD_LOCAL.remove();
-            LOGGER.info("WebDriver closed and removed from ThreadLocal");
+            try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.TEARDOWN)) {
+                driver.quit();
+            } finally {
+                context.setDriver(null);
+                GridCapacityMonitor.releaseSlot();
+            }
+            LOGGER.info("WebDriver closed and removed from test context");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.UI.drivers;
+
+import com.UI.config.ConfigManager;
+import com.UI.retry.RetryPolicy;
+import com.UI.utils.Backoff;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selenium HTTP client factory for remote sessions that sends every session's commands through one
+ * shared java.net.http client, so connections to the hub are pooled and kept alive across sessions
+ * (HTTP/1.1 keep-alive, or HTTP/2 when http.client.version=HTTP_2 and the hub supports it).
+ * Connection failures on GET commands, which have no side effects, are retried with backoff when
+ * the retry engine is disabled; with retry.enabled they are left to {@link RetryPolicy} budgets so
+ * a command is not retried at both layers. Read timeouts are never retried here because the
+ * command may still be running.
+ * WebSockets (DevTools) use Selenium's default client.
+ */
+public class RemoteHttpClientFactory implements HttpClient.Factory {
+    private static final Logger LOGGER = LoggerUtil.getLogger(RemoteHttpClientFactory.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    // Headers java.net.http sets itself and rejects when set by the caller
+    private static final Set<String> RESTRICTED_HEADERS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("connection", "content-length", "expect", "host", "upgrade")));
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofMillis(100);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(2);
+
+    private static RemoteHttpClientFactory shared;
+
+    private final java.net.http.HttpClient client;
+    private final int maxRetries;
+    private final HttpClient.Factory webSocketFactory = HttpClient.Factory.createDefault();
+
+    /**
+     * Constructor for RemoteHttpClientFactory
+     * @param version HTTP version to negotiate
+     * @param connectTimeout Timeout for opening a connection
+     * @param maxRetries Retries for GET commands that fail to connect
+     */
+    public RemoteHttpClientFactory(java.net.http.HttpClient.Version version, Duration connectTimeout, int maxRetries) {
+        this.client = java.net.http.HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(connectTimeout)
+                .followRedirects(java.net.http.HttpClient.Redirect.NEVER)
+                .build();
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * Check whether remote sessions should share the pooled client
+     * @return true if http.client.shared is set
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(CONFIG_MANAGER.getProperty("http.client.shared", "true"));
+    }
+
+    /**
+     * Get the factory configured from http.client.* properties
+     * @return Shared factory
+     */
+    public static synchronized RemoteHttpClientFactory getShared() {
+        if (shared == null) {
+            java.net.http.HttpClient.Version version = java.net.http.HttpClient.Version.valueOf(
+                    CONFIG_MANAGER.getProperty("http.client.version", "HTTP_1_1").toUpperCase());
+            // The retry engine already retries failed read-only commands through the driver decorator
+            int retries = RetryPolicy.isEnabled()
+                    ? 0 : Integer.parseInt(CONFIG_MANAGER.getProperty("http.client.retries", "2"));
+            shared = new RemoteHttpClientFactory(version, getConnectTimeout(), retries);
+            LOGGER.info("Remote sessions share one {} client (connect timeout {}s, read timeout {}s)",
+                    version, getConnectTimeout().getSeconds(), getReadTimeout().getSeconds());
+        }
+        return shared;
+    }
+
+    /**
+     * Build the client configuration for a hub URL with the configured timeouts
+     * @param remoteUrl Hub or remote end URL
+     * @return Client configuration
+     */
+    public static ClientConfig clientConfig(URL remoteUrl) {
+        return ClientConfig.defaultConfig()
+                .baseUrl(remoteUrl)
+                .connectionTimeout(getConnectTimeout())
+                .readTimeout(getReadTimeout());
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        return new PooledClient(config);
+    }
+
+    private static Duration getConnectTimeout() {
+        return Duration.ofSeconds(Integer.parseInt(CONFIG_MANAGER.getProperty("http.client.connect.timeout.seconds", "10")));
+    }
+
+    private static Duration getReadTimeout() {
+        return Duration.ofSeconds(Integer.parseInt(CONFIG_MANAGER.getProperty("http.client.read.timeout.seconds", "180")));
+    }
+
+    /**
+     * Per-session client; closing it leaves the shared connection pool open
+     */
+    private final class PooledClient implements HttpClient {
+        private final ClientConfig config;
+        private final HttpHandler handler;
+
+        private PooledClient(ClientConfig config) {
+            this.config = config;
+            this.handler = config.filter().andFinally(this::send);
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return handler.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return webSocketFactory.createClient(config).openSocket(request, listener);
+        }
+
+        private HttpResponse send(HttpRequest request) {
+            java.net.http.HttpRequest jdkRequest = toJdkRequest(request);
+            Backoff backoff = new Backoff(FIRST_RETRY_DELAY, MAX_RETRY_DELAY);
+            int attempt = 0;
+            while (true) {
+                try {
+                    return toResponse(client.send(jdkRequest, java.net.http.HttpResponse.BodyHandlers.ofByteArray()));
+                } catch (HttpConnectTimeoutException e) {
+                    // No connection was opened, so the command never reached the hub
+                    retryOrThrow(request, e, ++attempt, backoff);
+                } catch (HttpTimeoutException e) {
+                    throw new UncheckedIOException(e);
+                } catch (IOException e) {
+                    retryOrThrow(request, e, ++attempt, backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException("Interrupted sending " + request.getUri()));
+                }
+            }
+        }
+
+        private void retryOrThrow(HttpRequest request, IOException failure, int attempt, Backoff backoff) {
+            if (request.getMethod() != HttpMethod.GET || attempt > maxRetries) {
+                throw new UncheckedIOException(failure);
+            }
+            LOGGER.warn("Retrying {} {} after connection failure ({}/{}): {}",
+                    request.getMethod(), request.getUri(), attempt, maxRetries, failure.toString());
+            sleep(backoff.nextDelay());
+        }
+
+        private java.net.http.HttpRequest toJdkRequest(HttpRequest request) {
+            java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(toUri(request))
+                    .timeout(config.readTimeout());
+            for (String name : request.getHeaderNames()) {
+                if (RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    continue;
+                }
+                for (String value : request.getHeaders(name)) {
+                    builder.header(name, value);
+                }
+            }
+            byte[] body = Contents.bytes(request.getContent());
+            builder.method(request.getMethod().name(), body.length == 0
+                    ? java.net.http.HttpRequest.BodyPublishers.noBody()
+                    : java.net.http.HttpRequest.BodyPublishers.ofByteArray(body));
+            return builder.build();
+        }
+
+        private URI toUri(HttpRequest request) {
+            String path = request.getUri();
+            StringBuilder uri = new StringBuilder();
+            if (!path.startsWith("http://") && !path.startsWith("https://")) {
+                String base = config.baseUri().toString();
+                uri.append(base.endsWith("/") ? base.substring(0, base.length() - 1) : base);
+            }
+            uri.append(path);
+            char separator = '?';
+            for (String name : request.getQueryParameterNames()) {
+                for (String value : request.getQueryParameters(name)) {
+                    uri.append(separator).append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                            .append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                    separator = '&';
+                }
+            }
+            try {
+                return new URI(uri.toString());
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid request URI: " + uri, e);
+            }
+        }
+
+        private HttpResponse toResponse(java.net.http.HttpResponse<byte[]> jdkResponse) {
+            HttpResponse response = new HttpResponse().setStatus(jdkResponse.statusCode());
+            for (Map.Entry<String, List<String>> header : jdkResponse.headers().map().entrySet()) {
+                // Skip HTTP/2 pseudo-headers such as :status
+                if (header.getKey().startsWith(":")) {
+                    continue;
+                }
+                for (String value : header.getValue()) {
+                    response.addHeader(header.getKey(), value);
+                }
+            }
+            response.setContent(Contents.bytes(jdkResponse.body()));
+            return response;
+        }
+
+        private void sleep(Duration delay) {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException("Interrupted while retrying"));
+            }
+        }
+    }
+}
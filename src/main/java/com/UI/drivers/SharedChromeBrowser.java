@@ -0,0 +1,268 @@
+package com.UI.drivers;
+
+import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One local Chrome process shared by several tests (browser.sharing=contexts). Each test gets a
+ * fresh CDP browser context, which has its own cookie jar, storage and cache like an incognito
+ * window, and a ChromeDriver session attached to the shared browser through debuggerAddress and
+ * switched to that context's window. An attached session can see every window of the browser, so
+ * its window handles are restricted to its own context, switching to another test's window fails,
+ * and switchTo().newWindow() is rejected because chromedriver would open it outside the context.
+ * Popups opened by the test's pages stay in the context and are visible.
+ * Contexts are never reused; the browser is replaced after browser.sharing.max.contexts contexts
+ * once its running tests finish.
+ */
+public class SharedChromeBrowser {
+    private static final Logger LOGGER = LoggerUtil.getLogger(SharedChromeBrowser.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final long WINDOW_WAIT_MILLIS = 5000;
+
+    private static ChromeDriver owner;
+    private static DevTools browserDevTools;
+    private static String debuggerAddress;
+    private static int contextsCreated;
+    private static int activeContexts;
+    private static Thread shutdownHook;
+
+    private SharedChromeBrowser() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether tests share a browser process
+     * @return true if browser.sharing=contexts
+     */
+    public static boolean isEnabled() {
+        return "contexts".equalsIgnoreCase(CONFIG_MANAGER.getProperty("browser.sharing", "none"));
+    }
+
+    /**
+     * Check whether a session of this browser and execution mode runs in the shared browser
+     * @param browser Browser name
+     * @param executionMode Execution mode
+     * @return true for local Chrome with browser.sharing=contexts
+     */
+    public static boolean appliesTo(String browser, String executionMode) {
+        return isEnabled() && "chrome".equals(browser) && "local".equals(executionMode);
+    }
+
+    /**
+     * Open an isolated browser context in the shared browser and attach a new session to it.
+     * The context is disposed when the current test context closes, after the session quits.
+     * @param launchOptions Suite-level options used to launch the shared browser if it is not running
+     * @param sessionOptions Options for the attached session, e.g. page load strategy
+     * @return Driver whose current window belongs to the new context and that only sees its windows
+     */
+    public static WebDriver newIsolatedSession(ChromeOptions launchOptions, ChromeOptions sessionOptions) {
+        String[] lease = lease(launchOptions);
+        String browserContextId = lease[0];
+        String targetId = lease[1];
+        TestContext.require().onClose(() -> release(browserContextId));
+
+        ChromeOptions options = new ChromeOptions().merge(sessionOptions);
+        options.setExperimentalOption("debuggerAddress", lease[2]);
+        ChromeDriver driver = new ChromeDriver(options);
+        try {
+            switchToTarget(driver, targetId);
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+        LOGGER.debug("Attached session to browser context {} (window {})", browserContextId, targetId);
+        return new ContextWindows(browserContextId).decorate(driver);
+    }
+
+    /**
+     * Quit the shared browser
+     */
+    public static synchronized void shutdown() {
+        if (owner == null) {
+            return;
+        }
+        try {
+            owner.quit();
+        } catch (WebDriverException e) {
+            LOGGER.warn("Failed to quit shared browser: {}", e.getMessage());
+        }
+        LOGGER.info("Shared browser closed after {} context(s)", contextsCreated);
+        owner = null;
+        browserDevTools = null;
+        debuggerAddress = null;
+        contextsCreated = 0;
+    }
+
+    private static synchronized String[] lease(ChromeOptions launchOptions) {
+        int maxContexts = Integer.parseInt(CONFIG_MANAGER.getProperty("browser.sharing.max.contexts", "50"));
+        // A browser due for recycling takes no new contexts; wait for its tests to finish
+        while (owner != null && contextsCreated >= maxContexts && activeContexts > 0) {
+            try {
+                SharedChromeBrowser.class.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for shared browser recycling", e);
+            }
+        }
+        if (owner != null && contextsCreated >= maxContexts) {
+            LOGGER.info("Recycling shared browser after {} context(s)", contextsCreated);
+            shutdown();
+        }
+        if (owner == null) {
+            launch(launchOptions);
+        }
+        String browserContextId = (String) send("Target.createBrowserContext",
+                Collections.singletonMap("disposeOnDetach", false)).get("browserContextId");
+        Map<String, Object> target = new HashMap<>();
+        target.put("url", "about:blank");
+        target.put("browserContextId", browserContextId);
+        String targetId = (String) send("Target.createTarget", target).get("targetId");
+        contextsCreated++;
+        activeContexts++;
+        return new String[]{browserContextId, targetId, debuggerAddress};
+    }
+
+    private static synchronized void release(String browserContextId) {
+        activeContexts--;
+        try {
+            if (browserDevTools != null) {
+                // Closes the context's windows and discards its cookies and storage
+                send("Target.disposeBrowserContext", Collections.singletonMap("browserContextId", browserContextId));
+            }
+        } catch (WebDriverException e) {
+            LOGGER.warn("Failed to dispose browser context {}: {}", browserContextId, e.getMessage());
+        } finally {
+            SharedChromeBrowser.class.notifyAll();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void launch(ChromeOptions launchOptions) {
+        owner = new ChromeDriver(launchOptions);
+        Map<String, Object> chromeCapabilities = (Map<String, Object>) owner.getCapabilities().getCapability("goog:chromeOptions");
+        debuggerAddress = chromeCapabilities == null ? null : (String) chromeCapabilities.get("debuggerAddress");
+        if (debuggerAddress == null) {
+            owner.quit();
+            owner = null;
+            throw new RuntimeException("Chrome did not report a debuggerAddress; cannot share the browser");
+        }
+        // No page session is created, so commands go to the browser target
+        browserDevTools = owner.getDevTools();
+        if (shutdownHook == null) {
+            shutdownHook = new Thread(SharedChromeBrowser::shutdown, "shared-browser-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+        LOGGER.info("Launched shared browser at {}", debuggerAddress);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> send(String method, Map<String, Object> params) {
+        return browserDevTools.send(new Command<Map<String, Object>>(method, params, Map.class));
+    }
+
+    private static void switchToTarget(WebDriver driver, String targetId) {
+        long deadline = System.currentTimeMillis() + WINDOW_WAIT_MILLIS;
+        do {
+            for (String handle : driver.getWindowHandles()) {
+                if (isTarget(handle, targetId)) {
+                    driver.switchTo().window(handle);
+                    return;
+                }
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        } while (System.currentTimeMillis() < deadline);
+        throw new RuntimeException("Window of browser context target " + targetId + " not found in attached session");
+    }
+
+    private static boolean isTarget(String handle, String targetId) {
+        // Older chromedriver versions prefix window handles with CDwindow-
+        return handle.equalsIgnoreCase(targetId) || handle.toUpperCase().endsWith(targetId.toUpperCase());
+    }
+
+    /**
+     * Page targets of the shared browser, split into those of one browser context and the others
+     * @param browserContextId Browser context
+     * @return Target ids of the context's pages at index 0, of all other pages at index 1
+     */
+    @SuppressWarnings("unchecked")
+    private static synchronized List<Set<String>> pageTargets(String browserContextId) {
+        Set<String> own = new HashSet<>();
+        Set<String> others = new HashSet<>();
+        if (browserDevTools != null) {
+            List<Map<String, Object>> targets = (List<Map<String, Object>>) send("Target.getTargets",
+                    Collections.emptyMap()).get("targetInfos");
+            for (Map<String, Object> target : targets) {
+                if ("page".equals(target.get("type"))) {
+                    (browserContextId.equals(target.get("browserContextId")) ? own : others)
+                            .add((String) target.get("targetId"));
+                }
+            }
+        }
+        return Arrays.asList(own, others);
+    }
+
+    /**
+     * Keeps an attached session to the windows of its own browser context
+     */
+    private static final class ContextWindows extends WebDriverDecorator<WebDriver> {
+        private final String browserContextId;
+
+        private ContextWindows(String browserContextId) {
+            this.browserContextId = browserContextId;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            Object original = target.getOriginal();
+            String name = method.getName();
+            if (original instanceof WebDriver && "getWindowHandles".equals(name)) {
+                Set<String> own = pageTargets(browserContextId).get(0);
+                Set<String> handles = new LinkedHashSet<>();
+                for (String handle : (Set<String>) super.call(target, method, args)) {
+                    if (own.stream().anyMatch(targetId -> isTarget(handle, targetId))) {
+                        handles.add(handle);
+                    }
+                }
+                return handles;
+            }
+            if (original instanceof WebDriver.TargetLocator && "newWindow".equals(name)) {
+                throw new UnsupportedOperationException("switchTo().newWindow() would open outside the test's "
+                        + "browser context with browser.sharing=contexts; open windows from the page instead");
+            }
+            if (original instanceof WebDriver.TargetLocator && "window".equals(name)) {
+                String handle = String.valueOf(args[0]);
+                if (pageTargets(browserContextId).get(1).stream().anyMatch(targetId -> isTarget(handle, targetId))) {
+                    throw new NoSuchWindowException("Window " + handle + " belongs to another test's browser context");
+                }
+            }
+            return super.call(target, method, args);
+        }
+    }
+}
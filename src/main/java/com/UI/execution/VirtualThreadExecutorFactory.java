@@ -0,0 +1,52 @@
+package com.UI.execution;
+
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestNG executor factory that runs parallel test methods on virtual threads.
+ * Scheduling is unchanged; only the worker threads are replaced, so the pool
+ * size (thread-count) becomes a concurrency limit rather than an OS thread count.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+    private static final Logger LOGGER = LoggerUtil.getLogger(VirtualThreadExecutorFactory.class);
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+                                                      IThreadWorkerFactory<ISuite> factory, int corePoolSize,
+                                                      int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                                      BlockingQueue<Runnable> workQueue,
+                                                      Comparator<ISuite> comparator) {
+        return new GraphThreadPoolExecutor<>(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, workQueue, comparator);
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+                                                           IThreadWorkerFactory<ITestNGMethod> factory,
+                                                           int corePoolSize, int maximumPoolSize,
+                                                           long keepAliveTime, TimeUnit unit,
+                                                           BlockingQueue<Runnable> workQueue,
+                                                           Comparator<ITestNGMethod> comparator) {
+        GraphThreadPoolExecutor<ITestNGMethod> executor = new GraphThreadPoolExecutor<>(name, graph, factory,
+                corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+        if (VirtualThreads.isSupported()) {
+            executor.setThreadFactory(VirtualThreads.newThreadFactory("test-worker-"));
+            LOGGER.info("Running up to {} test methods on virtual threads", maximumPoolSize);
+        } else {
+            LOGGER.warn("Virtual threads need Java 21+; running {} on platform threads", name);
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.UI.execution;
+
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.testng.TestNG;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs TestNG suites with test methods on virtual threads.
+ * Surefire cannot pass a custom executor factory to TestNG, so the
+ * virtual-threads Maven profile launches the suites through this class.
+ */
+public class VirtualThreadSuiteRunner {
+    private static final Logger LOGGER = LoggerUtil.getLogger(VirtualThreadSuiteRunner.class);
+
+    private VirtualThreadSuiteRunner() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Run suite files on virtual threads
+     * @param args Suite XML files; defaults to testng.xml
+     */
+    public static void main(String[] args) {
+        List<String> suiteFiles = args.length > 0 ? Arrays.asList(args) : List.of("testng.xml");
+        System.setProperty(VirtualThreads.ENABLED_PROPERTY, "true");
+        if (!VirtualThreads.isSupported()) {
+            LOGGER.warn("Java {} has no virtual threads; suites will run on platform threads",
+                    System.getProperty("java.version"));
+        }
+
+        TestNG testng = new TestNG();
+        testng.setTestSuites(suiteFiles);
+        testng.setExecutorFactory(new VirtualThreadExecutorFactory());
+        testng.run();
+        System.exit(testng.getStatus());
+    }
+}
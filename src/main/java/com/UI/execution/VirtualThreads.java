@@ -0,0 +1,71 @@
+package com.UI.execution;
+
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Access to virtual threads without requiring a Java 21 compile target.
+ * The framework builds on Java 11; the virtual-threads Maven profile runs it on 21.
+ */
+public class VirtualThreads {
+    private static final Logger LOGGER = LoggerUtil.getLogger(VirtualThreads.class);
+
+    /**
+     * System property that switches test workers to virtual threads
+     */
+    public static final String ENABLED_PROPERTY = "execution.virtual.threads";
+
+    private VirtualThreads() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether virtual-thread mode was requested
+     * @return true if the system property is set and the runtime supports virtual threads
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY) && isSupported();
+    }
+
+    /**
+     * Check whether the running JVM provides virtual threads
+     * @return true on Java 21 or later
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Create a thread factory for worker threads.
+     * Falls back to daemon platform threads when virtual threads are unavailable.
+     * @param prefix Thread name prefix
+     * @return Thread factory
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        if (isSupported()) {
+            try {
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.warn("Could not create virtual thread factory, using platform threads", e);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
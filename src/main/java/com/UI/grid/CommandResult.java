@@ -0,0 +1,43 @@
+package com.UI.grid;
+
+/**
+ * Exit status and combined output of a command
+ */
+public class CommandResult {
+    private final int exitCode;
+    private final String output;
+    private final boolean timedOut;
+
+    /**
+     * Constructor for CommandResult
+     * @param exitCode Process exit code, or -1 if it did not finish
+     * @param output Combined stdout and stderr
+     * @param timedOut Whether the command was killed after its timeout
+     */
+    public CommandResult(int exitCode, String output, boolean timedOut) {
+        this.exitCode = exitCode;
+        this.output = output;
+        this.timedOut = timedOut;
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public String getOutput() {
+        return output;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public boolean isSuccess() {
+        return !timedOut && exitCode == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandResult{exitCode=" + exitCode + ", timedOut=" + timedOut + "}";
+    }
+}
@@ -0,0 +1,30 @@
+package com.UI.grid;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs infrastructure commands (kubectl, docker compose).
+ * Replace with a stub to exercise Grid lifecycle code without a cluster.
+ */
+public interface CommandRunner {
+
+    /**
+     * Run a command to completion
+     * @param command Program and arguments; no shell is involved
+     * @param timeout Maximum time to wait for the command
+     * @return Result of the command
+     */
+    CommandResult run(List<String> command, Duration timeout);
+
+    /**
+     * Start a long-running command, such as kubectl port-forward, without waiting for it
+     * @param command Program and arguments; no shell is involved
+     * @return Started process with stderr merged into stdout
+     * @throws IOException If the process cannot be started
+     */
+    default Process start(List<String> command) throws IOException {
+        return new ProcessBuilder(command).redirectErrorStream(true).start();
+    }
+}
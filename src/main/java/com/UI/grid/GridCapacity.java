@@ -0,0 +1,71 @@
+package com.UI.grid;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Slot capacity for one browser, derived from a hub /status document
+ */
+public class GridCapacity {
+    private final int totalSlots;
+    private final int busySlots;
+
+    private GridCapacity(int totalSlots, int busySlots) {
+        this.totalSlots = totalSlots;
+        this.busySlots = busySlots;
+    }
+
+    /**
+     * Count usable and busy slots for a browser across all UP nodes.
+     * A node contributes at most its maxSessions, regardless of how many slots it advertises.
+     * @param status The "value" node of a /status response
+     * @param browser Browser name as used in slot stereotypes
+     * @return Capacity for the browser
+     */
+    public static GridCapacity fromStatus(JsonNode status, String browser) {
+        int total = 0;
+        int busy = 0;
+        for (JsonNode node : status.path("nodes")) {
+            if (!"UP".equalsIgnoreCase(node.path("availability").asText("UP"))) {
+                continue;
+            }
+            int nodeSlots = 0;
+            int nodeBusy = 0;
+            int nodeSessions = 0;
+            for (JsonNode slot : node.path("slots")) {
+                boolean inUse = slot.hasNonNull("session");
+                if (inUse) {
+                    nodeSessions++;
+                }
+                if (browser.equalsIgnoreCase(slot.path("stereotype").path("browserName").asText())) {
+                    nodeSlots++;
+                    if (inUse) {
+                        nodeBusy++;
+                    }
+                }
+            }
+            int maxSessions = node.path("maxSessions").asInt(nodeSlots);
+            // Sessions of other browsers on the same node also count against maxSessions
+            int usable = Math.min(nodeSlots, Math.max(0, maxSessions - (nodeSessions - nodeBusy)));
+            total += usable;
+            busy += Math.min(nodeBusy, usable);
+        }
+        return new GridCapacity(total, busy);
+    }
+
+    public int getTotalSlots() {
+        return totalSlots;
+    }
+
+    public int getBusySlots() {
+        return busySlots;
+    }
+
+    public int getFreeSlots() {
+        return Math.max(0, totalSlots - busySlots);
+    }
+
+    @Override
+    public String toString() {
+        return "GridCapacity{total=" + totalSlots + ", busy=" + busySlots + "}";
+    }
+}
@@ -0,0 +1,199 @@
+package com.UI.grid;
+
+import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits concurrently running remote sessions to the free Grid slots for the configured browser.
+ * The limit is refreshed from the hub /status endpoint at suite start and periodically during the run.
+ */
+public class GridCapacityMonitor {
+    private static final Logger LOGGER = LoggerUtil.getLogger(GridCapacityMonitor.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final Condition SLOT_FREED = LOCK.newCondition();
+    private static final TestContext.Key<Boolean> HOLDS_SLOT = TestContext.Key.of("grid.slot");
+
+    private static GridStatusClient client;
+    private static String browser;
+    private static ScheduledExecutorService poller;
+    private static int limit = Integer.MAX_VALUE;
+    private static int active;
+    private static int waiting;
+
+    private GridCapacityMonitor() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether capacity-driven parallelism is configured
+     * @return true if grid.parallelism.auto is set and execution mode is grid or remote
+     */
+    public static boolean isEnabled() {
+        String mode = CONFIG_MANAGER.getProperty("execution.mode", "local").toLowerCase();
+        return !"local".equals(mode)
+                && Boolean.parseBoolean(CONFIG_MANAGER.getProperty("grid.parallelism.auto", "false"));
+    }
+
+    /**
+     * Get the hub URL for the configured execution mode
+     * @return Hub URL
+     */
+    public static String getHubUrl() {
+        String mode = CONFIG_MANAGER.getProperty("execution.mode", "local").toLowerCase();
+        return "grid".equals(mode) ? CONFIG_MANAGER.getProperty("grid.url") : CONFIG_MANAGER.getProperty("remote.url");
+    }
+
+    /**
+     * Query the hub once and start periodic refreshes
+     * @param statusClient Client for the hub
+     * @param browserName Browser whose slots bound concurrency
+     * @return Capacity observed at start, or null if the hub could not be queried
+     */
+    public static synchronized GridCapacity start(GridStatusClient statusClient, String browserName) {
+        client = statusClient;
+        browser = browserName;
+        GridCapacity capacity = refresh();
+        if (poller == null) {
+            int interval = Integer.parseInt(CONFIG_MANAGER.getProperty("grid.capacity.poll.seconds", "15"));
+            poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "grid-capacity-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller.scheduleWithFixedDelay(GridCapacityMonitor::refresh, interval, interval, TimeUnit.SECONDS);
+        }
+        return capacity;
+    }
+
+    /**
+     * Stop periodic refreshes and lift the limit
+     */
+    public static synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+        setLimit(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Block until a slot is free for a new session in the current test.
+     * Gives up after grid.slot.wait.seconds and lets the hub queue the request instead.
+     */
+    public static void acquireSlot() {
+        TestContext context = TestContext.require();
+        if (Boolean.TRUE.equals(context.get(HOLDS_SLOT))) {
+            return;
+        }
+        long remaining = TimeUnit.SECONDS.toNanos(
+                Integer.parseInt(CONFIG_MANAGER.getProperty("grid.slot.wait.seconds", "120")));
+        LOCK.lock();
+        try {
+            waiting++;
+            try {
+                while (active >= limit) {
+                    if (remaining <= 0) {
+                        LOGGER.warn("No free Grid slot after waiting (limit={}, active={}); creating session anyway",
+                                limit, active);
+                        break;
+                    }
+                    remaining = SLOT_FREED.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+            active++;
+            context.put(HOLDS_SLOT, true);
+            context.onClose(GridCapacityMonitor::releaseSlot);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a Grid slot", e);
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * Release the slot held by the current test, if any
+     */
+    public static void releaseSlot() {
+        TestContext context = TestContext.current();
+        if (context == null || !Boolean.TRUE.equals(context.get(HOLDS_SLOT))) {
+            return;
+        }
+        context.put(HOLDS_SLOT, null);
+        LOCK.lock();
+        try {
+            active--;
+            SLOT_FREED.signalAll();
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * Get the number of tests blocked in {@link #acquireSlot()}; they are demand the hub does not see yet
+     * @return Waiting test count
+     */
+    public static int getWaitingCount() {
+        LOCK.lock();
+        try {
+            return waiting;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    public static int getLimit() {
+        LOCK.lock();
+        try {
+            return limit;
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static GridCapacity refresh() {
+        try {
+            GridCapacity capacity = GridCapacity.fromStatus(client.getStatus(), browser);
+            LOCK.lock();
+            try {
+                // Busy slots include our own sessions; only sessions of other clients reduce our share
+                int busyByOthers = Math.max(0, capacity.getBusySlots() - active);
+                setLimit(Math.max(1, capacity.getTotalSlots() - busyByOthers));
+            } finally {
+                LOCK.unlock();
+            }
+            LOGGER.debug("Grid capacity for {}: {}, concurrency limit {}", browser, capacity, getLimit());
+            return capacity;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not refresh Grid capacity from {}: {}", client.getBaseUrl(), e.toString());
+            return null;
+        }
+    }
+
+    private static void setLimit(int newLimit) {
+        LOCK.lock();
+        try {
+            if (newLimit != limit) {
+                LOGGER.info("Grid concurrency limit changed: {} -> {}",
+                        limit == Integer.MAX_VALUE ? "unbounded" : limit, newLimit == Integer.MAX_VALUE ? "unbounded" : newLimit);
+                limit = newLimit;
+                SLOT_FREED.signalAll();
+            }
+        } finally {
+            LOCK.unlock();
+        }
+    }
+}
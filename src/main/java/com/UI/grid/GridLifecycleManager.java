@@ -0,0 +1,165 @@
+package com.UI.grid;
+
+import com.UI.utils.Backoff;
+import com.UI.utils.LoggerUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts and stops a Selenium Grid through infrastructure commands and waits for it
+ * by polling the hub /status endpoint with exponential backoff, instead of fixed sleeps
+ */
+public class GridLifecycleManager {
+    private static final Logger LOGGER = LoggerUtil.getLogger(GridLifecycleManager.class);
+    private static final Duration FIRST_POLL_DELAY = Duration.ofMillis(250);
+    private static final Duration MAX_POLL_DELAY = Duration.ofSeconds(2);
+
+    private final CommandRunner commandRunner;
+    private final GridStatusClient statusClient;
+    private final Duration commandTimeout;
+    private volatile boolean started;
+
+    /**
+     * Constructor for GridLifecycleManager
+     * @param commandRunner Runner for start/stop commands
+     * @param statusClient Client for the hub that should become ready
+     * @param commandTimeout Timeout for each start/stop command
+     */
+    public GridLifecycleManager(CommandRunner commandRunner, GridStatusClient statusClient, Duration commandTimeout) {
+        this.commandRunner = commandRunner;
+        this.statusClient = statusClient;
+        this.commandTimeout = commandTimeout;
+    }
+
+    /**
+     * Launch the Grid unless it is already serving enough slots, then wait until it is ready
+     * @param startCommand Command line that creates the Grid
+     * @param browser Browser whose slots are required
+     * @param requiredSlots Free slots needed before tests may start
+     * @param readyTimeout Maximum time to wait for readiness after launch
+     * @return Capacity observed when the Grid became ready
+     */
+    public GridCapacity start(String startCommand, String browser, int requiredSlots, Duration readyTimeout) {
+        launch(startCommand, browser, requiredSlots);
+        return awaitReady(browser, requiredSlots, readyTimeout);
+    }
+
+    /**
+     * Run the start command unless the hub is already serving enough slots.
+     * Does not wait; use {@link #awaitReady(String, int, Duration)} once the hub is reachable.
+     * @param startCommand Command line that creates the Grid
+     * @param browser Browser whose slots are required
+     * @param requiredSlots Free slots that make launching unnecessary
+     */
+    public void launch(String startCommand, String browser, int requiredSlots) {
+        GridCapacity existing = probe(browser, requiredSlots);
+        if (existing != null) {
+            LOGGER.info("Grid at {} already ready ({}); not launching", statusClient.getBaseUrl(), existing);
+            return;
+        }
+        CommandResult result = commandRunner.run(ProcessCommandRunner.tokenize(startCommand), commandTimeout);
+        if (!result.isSuccess()) {
+            throw new RuntimeException("Grid start command failed (" + result + "): " + startCommand
+                    + "\n" + result.getOutput());
+        }
+        started = true;
+    }
+
+    /**
+     * Poll /status until the hub reports ready and enough slots are free
+     * @param browser Browser whose slots are required
+     * @param requiredSlots Free slots needed
+     * @param timeout Maximum time to wait
+     * @return Capacity observed when the Grid became ready
+     */
+    public GridCapacity awaitReady(String browser, int requiredSlots, Duration timeout) {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + timeout.toNanos();
+        Backoff backoff = new Backoff(FIRST_POLL_DELAY, MAX_POLL_DELAY);
+        int polls = 0;
+        JsonNode lastStatus = null;
+        String lastError = null;
+        while (true) {
+            polls++;
+            try {
+                lastStatus = statusClient.getStatus();
+                lastError = null;
+                GridCapacity capacity = GridCapacity.fromStatus(lastStatus, browser);
+                if (isReady(lastStatus, capacity, requiredSlots)) {
+                    LOGGER.info("Grid ready after {} ms and {} polls: {}",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), polls, capacity);
+                    return capacity;
+                }
+                LOGGER.debug("Grid not ready yet: {}", describe(lastStatus, browser));
+            } catch (IOException e) {
+                lastError = e.toString();
+                LOGGER.debug("Grid status unavailable: {}", lastError);
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new RuntimeException(String.format(
+                        "Grid at %s not ready after %d s and %d polls: need %d free %s slot(s); last status: %s; last error: %s",
+                        statusClient.getBaseUrl(), timeout.getSeconds(), polls, requiredSlots, browser,
+                        lastStatus == null ? "none" : describe(lastStatus, browser),
+                        lastError == null ? "none" : lastError));
+            }
+            try {
+                backoff.sleep(deadline);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the Grid", e);
+            }
+        }
+    }
+
+    /**
+     * Tear the Grid down. Failures are logged, not thrown, so suite teardown can continue.
+     * @param stopCommand Command line that deletes the Grid
+     */
+    public void stop(String stopCommand) {
+        CommandResult result = commandRunner.run(ProcessCommandRunner.tokenize(stopCommand), commandTimeout);
+        if (!result.isSuccess()) {
+            LOGGER.warn("Grid stop command failed ({}): {}\n{}", result, stopCommand, result.getOutput());
+        }
+        started = false;
+    }
+
+    /**
+     * Check whether this manager launched the Grid
+     * @return true after a successful start command
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    private GridCapacity probe(String browser, int requiredSlots) {
+        try {
+            JsonNode status = statusClient.getStatus();
+            GridCapacity capacity = GridCapacity.fromStatus(status, browser);
+            return isReady(status, capacity, requiredSlots) ? capacity : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isReady(JsonNode status, GridCapacity capacity, int requiredSlots) {
+        return status.path("ready").asBoolean(false) && capacity.getFreeSlots() >= requiredSlots;
+    }
+
+    private static String describe(JsonNode status, String browser) {
+        int nodes = 0;
+        int upNodes = 0;
+        for (JsonNode node : status.path("nodes")) {
+            nodes++;
+            if ("UP".equalsIgnoreCase(node.path("availability").asText("UP"))) {
+                upNodes++;
+            }
+        }
+        return String.format("ready=%s, message='%s', nodes=%d (UP=%d), %s %s",
+                status.path("ready").asBoolean(false), status.path("message").asText(""),
+                nodes, upNodes, browser, GridCapacity.fromStatus(status, browser));
+    }
+}
@@ -0,0 +1,213 @@
+package com.UI.grid;
+
+import com.UI.utils.LoggerUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scales Grid nodes for one browser to match queued test demand.
+ * Demand is the larger of the tests still pending in the suite and the sessions the hub is
+ * serving or queueing plus the tests {@link GridCapacityMonitor} holds back. Scale-up happens at once; scale-down only after demand has stayed
+ * lower for the configured delay, and nodes return to the minimum when the suite finishes.
+ * The scale command is a template with {browser} and {replicas} placeholders, e.g.
+ * "kubectl scale deployment/selenium-node-{browser} --replicas={replicas}".
+ */
+public class GridScalingController {
+    private static final Logger LOGGER = LoggerUtil.getLogger(GridScalingController.class);
+
+    private final CommandRunner commandRunner;
+    private final GridStatusClient statusClient;
+    private final String browser;
+    private final String scaleCommand;
+    private final int minNodes;
+    private final int maxNodes;
+    private final int slotsPerNode;
+    private final Duration scaleDownDelay;
+    private final Duration commandTimeout;
+    private final AtomicInteger pendingTests = new AtomicInteger();
+
+    private ScheduledExecutorService poller;
+    private int currentNodes = -1;
+    private long lowerDemandSinceNanos;
+
+    /**
+     * Constructor for GridScalingController
+     * @param commandRunner Runs the scale command
+     * @param statusClient Client for the hub
+     * @param browser Browser whose nodes are scaled
+     * @param scaleCommand Command template with {browser} and {replicas} placeholders
+     * @param minNodes Nodes kept when there is no demand
+     * @param maxNodes Upper bound on nodes
+     * @param slotsPerNode Sessions each node serves
+     * @param scaleDownDelay How long demand must stay lower before nodes are removed
+     * @param commandTimeout Timeout for each scale command
+     */
+    public GridScalingController(CommandRunner commandRunner, GridStatusClient statusClient, String browser,
+                                 String scaleCommand, int minNodes, int maxNodes, int slotsPerNode,
+                                 Duration scaleDownDelay, Duration commandTimeout) {
+        this.commandRunner = commandRunner;
+        this.statusClient = statusClient;
+        this.browser = browser;
+        this.scaleCommand = scaleCommand;
+        this.minNodes = Math.max(0, minNodes);
+        this.maxNodes = Math.max(this.minNodes, maxNodes);
+        this.slotsPerNode = Math.max(1, slotsPerNode);
+        this.scaleDownDelay = scaleDownDelay;
+        this.commandTimeout = commandTimeout;
+    }
+
+    /**
+     * Set the number of tests not yet finished
+     * @param count Pending test count
+     */
+    public void setPendingTests(int count) {
+        pendingTests.set(Math.max(0, count));
+    }
+
+    /**
+     * Add tests discovered after the suite started, e.g. data provider rows
+     * @param count Additional pending tests
+     */
+    public void addPendingTests(int count) {
+        pendingTests.updateAndGet(pending -> Math.max(0, pending + count));
+    }
+
+    /**
+     * Get the number of tests not yet finished
+     * @return Pending test count
+     */
+    public int getPendingTests() {
+        return pendingTests.get();
+    }
+
+    /**
+     * Record that a test finished
+     */
+    public void testFinished() {
+        pendingTests.updateAndGet(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Evaluate demand now and then periodically
+     * @param interval Time between evaluations
+     */
+    public synchronized void start(Duration interval) {
+        if (poller != null) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-scaling-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                evaluate();
+            } catch (RuntimeException e) {
+                LOGGER.error("Grid scaling evaluation failed", e);
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop evaluating and scale back to the minimum node count
+     */
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+        if (currentNodes > minNodes) {
+            scaleTo(minNodes, "suite finished");
+        }
+    }
+
+    /**
+     * Compare demand with running nodes and scale if needed
+     */
+    public synchronized void evaluate() {
+        JsonNode status;
+        try {
+            status = statusClient.getStatus();
+        } catch (IOException e) {
+            LOGGER.debug("Skipping scaling evaluation, hub status unavailable: {}", e.getMessage());
+            return;
+        }
+        GridCapacity capacity = GridCapacity.fromStatus(status, browser);
+        int queued = 0;
+        try {
+            queued = statusClient.getSessionQueueSize();
+        } catch (IOException e) {
+            LOGGER.debug("Session queue unavailable: {}", e.getMessage());
+        }
+        if (currentNodes < 0) {
+            currentNodes = countNodes(status);
+        }
+
+        // Sessions held back by the capacity monitor never reach the hub queue
+        int waiting = GridCapacityMonitor.getWaitingCount();
+        int demand = Math.max(pendingTests.get(), capacity.getBusySlots() + queued + waiting);
+        int desired = Math.max(minNodes, Math.min(maxNodes, (demand + slotsPerNode - 1) / slotsPerNode));
+        String reason = String.format("pending=%d, busy=%d, queued=%d, waiting=%d, slots=%d",
+                pendingTests.get(), capacity.getBusySlots(), queued, waiting, capacity.getTotalSlots());
+
+        if (desired > currentNodes) {
+            lowerDemandSinceNanos = 0;
+            scaleTo(desired, reason);
+        } else if (desired < currentNodes) {
+            long now = System.nanoTime();
+            if (lowerDemandSinceNanos == 0) {
+                lowerDemandSinceNanos = now;
+            } else if (now - lowerDemandSinceNanos >= scaleDownDelay.toNanos()) {
+                lowerDemandSinceNanos = 0;
+                scaleTo(desired, reason);
+            }
+        } else {
+            lowerDemandSinceNanos = 0;
+        }
+    }
+
+    /**
+     * Get the node count last requested or observed
+     * @return Node count, or -1 before the first evaluation
+     */
+    public synchronized int getCurrentNodes() {
+        return currentNodes;
+    }
+
+    private void scaleTo(int replicas, String reason) {
+        String commandLine = scaleCommand
+                .replace("{browser}", browser)
+                .replace("{replicas}", String.valueOf(replicas));
+        LOGGER.info("Scaling {} nodes {} -> {} ({})", browser, currentNodes, replicas, reason);
+        CommandResult result = commandRunner.run(ProcessCommandRunner.tokenize(commandLine), commandTimeout);
+        if (result.isSuccess()) {
+            currentNodes = replicas;
+        } else {
+            LOGGER.warn("Scale command failed ({}): {}\n{}", result, commandLine, result.getOutput());
+        }
+    }
+
+    private int countNodes(JsonNode status) {
+        int nodes = 0;
+        for (JsonNode node : status.path("nodes")) {
+            if (!"UP".equalsIgnoreCase(node.path("availability").asText("UP"))) {
+                continue;
+            }
+            for (JsonNode slot : node.path("slots")) {
+                if (browser.equalsIgnoreCase(slot.path("stereotype").path("browserName").asText())) {
+                    nodes++;
+                    break;
+                }
+            }
+        }
+        return nodes;
+    }
+}
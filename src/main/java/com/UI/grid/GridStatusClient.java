@@ -0,0 +1,126 @@
+package com.UI.grid;
+
+import com.UI.utils.LoggerUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Client for the Selenium Grid hub /status endpoint
+ */
+public class GridStatusClient {
+    private static final Logger LOGGER = LoggerUtil.getLogger(GridStatusClient.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    /**
+     * Constructor for GridStatusClient
+     * @param hubUrl Hub URL as configured for RemoteWebDriver, with or without /wd/hub
+     */
+    public GridStatusClient(String hubUrl) {
+        this(hubUrl, Duration.ofSeconds(5));
+    }
+
+    /**
+     * Constructor for GridStatusClient
+     * @param hubUrl Hub URL as configured for RemoteWebDriver, with or without /wd/hub
+     * @param requestTimeout Timeout for each status request
+     */
+    public GridStatusClient(String hubUrl, Duration requestTimeout) {
+        this.baseUrl = toBaseUrl(hubUrl);
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+    }
+
+    /**
+     * Fetch the hub status document
+     * @return The "value" node of the /status response
+     * @throws IOException If the hub cannot be reached or returns an error
+     */
+    public JsonNode getStatus() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/status"))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Hub status returned HTTP " + response.statusCode());
+            }
+            return OBJECT_MAPPER.readTree(response.body()).path("value");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching hub status", e);
+        }
+    }
+
+    /**
+     * Count new-session requests waiting in the hub queue, via the Grid GraphQL endpoint
+     * @return Number of queued session requests
+     * @throws IOException If the hub cannot be reached or returns an error
+     */
+    public int getSessionQueueSize() throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/graphql"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"query\":\"{ sessionsInfo { sessionQueueRequests } }\"}"))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("Hub GraphQL returned HTTP " + response.statusCode());
+            }
+            return OBJECT_MAPPER.readTree(response.body())
+                    .path("data").path("sessionsInfo").path("sessionQueueRequests").size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching session queue", e);
+        }
+    }
+
+    /**
+     * Find the node running a session
+     * @param sessionId WebDriver session id
+     * @return Node URI, or null if the session or hub could not be found
+     */
+    public String findNodeForSession(String sessionId) {
+        try {
+            for (JsonNode node : getStatus().path("nodes")) {
+                for (JsonNode slot : node.path("slots")) {
+                    if (sessionId.equals(slot.path("session").path("sessionId").asText(null))) {
+                        return node.path("uri").asText(null);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not resolve grid node for session {}: {}", sessionId, e.getMessage());
+        }
+        return null;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private static String toBaseUrl(String hubUrl) {
+        String url = hubUrl.trim();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        if (url.endsWith("/wd/hub")) {
+            url = url.substring(0, url.length() - "/wd/hub".length());
+        }
+        return url;
+    }
+}
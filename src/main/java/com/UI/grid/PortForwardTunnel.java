@@ -0,0 +1,238 @@
+package com.UI.grid;
+
+import com.UI.utils.Backoff;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Supervised port-forward process (e.g. kubectl port-forward) to a Selenium Grid hub.
+ * The hub /status endpoint is probed through the tunnel periodically; when the process exits
+ * or the hub stops answering, the process is restarted with exponential backoff.
+ * kubectl keeps accepting local connections after losing the pod, so a plain TCP connect
+ * to the local port would not notice a dropped tunnel.
+ */
+public class PortForwardTunnel implements AutoCloseable {
+    private static final Logger LOGGER = LoggerUtil.getLogger(PortForwardTunnel.class);
+    private static final Duration FIRST_RESTART_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RESTART_DELAY = Duration.ofSeconds(30);
+    private static final Duration STARTUP_GRACE = Duration.ofSeconds(10);
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(2);
+
+    private final CommandRunner commandRunner;
+    private final List<String> command;
+    private final String host;
+    private final int port;
+    private final Duration probeInterval;
+    private final GridStatusClient statusClient;
+    private final Backoff backoff = new Backoff(FIRST_RESTART_DELAY, MAX_RESTART_DELAY);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition availabilityChanged = lock.newCondition();
+
+    private ScheduledExecutorService supervisor;
+    private Process process;
+    private long launchedAtNanos;
+    private long nextRestartNanos;
+    private int restarts;
+    private volatile boolean available;
+
+    /**
+     * Constructor for PortForwardTunnel
+     * @param commandRunner Starts the forwarding process
+     * @param command Port-forward command and arguments
+     * @param host Local host the tunnel listens on
+     * @param port Local port the tunnel listens on
+     * @param probeInterval Time between health probes
+     */
+    public PortForwardTunnel(CommandRunner commandRunner, List<String> command, String host, int port,
+                             Duration probeInterval) {
+        this.commandRunner = commandRunner;
+        this.command = command;
+        this.host = host;
+        this.port = port;
+        this.probeInterval = probeInterval;
+        this.statusClient = new GridStatusClient("http://" + host + ":" + port, PROBE_TIMEOUT);
+    }
+
+    /**
+     * Launch the process and start supervising it
+     */
+    public synchronized void start() {
+        if (supervisor != null) {
+            return;
+        }
+        supervisor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "port-forward-supervisor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        launch();
+        supervisor.scheduleWithFixedDelay(this::supervise, 200, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Check whether the hub answered through the tunnel at the last probe
+     * @return true if the tunnel is usable
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Wait until the tunnel is available
+     * @param timeout Maximum time to wait
+     * @return true if available, false if the timeout elapsed first
+     */
+    public boolean awaitAvailable(Duration timeout) {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (!available) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = availabilityChanged.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get how many times the process was restarted
+     * @return Restart count
+     */
+    public synchronized int getRestartCount() {
+        return restarts;
+    }
+
+    /**
+     * Stop supervising and terminate the process
+     */
+    @Override
+    public synchronized void close() {
+        if (supervisor == null) {
+            return;
+        }
+        supervisor.shutdownNow();
+        supervisor = null;
+        terminate(process);
+        process = null;
+        setAvailable(false);
+        LOGGER.info("Port-forward to {}:{} stopped after {} restart(s)", host, port, restarts);
+    }
+
+    private synchronized void supervise() {
+        if (supervisor == null) {
+            return;
+        }
+        try {
+            boolean alive = process != null && process.isAlive();
+            if (alive && probe()) {
+                if (!available) {
+                    LOGGER.info("Port-forward to {}:{} available", host, port);
+                }
+                setAvailable(true);
+                backoff.reset();
+                return;
+            }
+            if (available) {
+                LOGGER.warn("Port-forward to {}:{} lost ({})", host, port, alive ? "hub not answering through the tunnel" : "process exited");
+            }
+            setAvailable(false);
+            long now = System.nanoTime();
+            if (alive && now - launchedAtNanos < STARTUP_GRACE.toNanos()) {
+                return;
+            }
+            if (now < nextRestartNanos) {
+                return;
+            }
+            restarts++;
+            LOGGER.warn("Restarting port-forward to {}:{} (restart {})", host, port, restarts);
+            terminate(process);
+            launch();
+            nextRestartNanos = System.nanoTime() + backoff.nextDelay().toNanos();
+        } catch (RuntimeException e) {
+            // Keep the scheduled task alive; a thrown exception would cancel it
+            LOGGER.error("Port-forward supervision failed", e);
+        }
+    }
+
+    private void launch() {
+        try {
+            process = commandRunner.start(command);
+            launchedAtNanos = System.nanoTime();
+            Process started = process;
+            Thread reader = new Thread(() -> drain(started), "port-forward-output");
+            reader.setDaemon(true);
+            reader.start();
+            LOGGER.info("Started port-forward: {}", String.join(" ", command));
+        } catch (IOException e) {
+            process = null;
+            LOGGER.error("Could not start port-forward: {}", String.join(" ", command), e);
+        }
+    }
+
+    private boolean probe() {
+        try {
+            // Any HTTP failure counts as down; the hub answers /status whether or not it is ready
+            statusClient.getStatus();
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Port-forward probe failed: {}", e.toString());
+            return false;
+        }
+    }
+
+    private void setAvailable(boolean value) {
+        lock.lock();
+        try {
+            available = value;
+            availabilityChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void terminate(Process target) {
+        if (target == null || !target.isAlive()) {
+            return;
+        }
+        target.destroy();
+        try {
+            if (!target.waitFor(3, TimeUnit.SECONDS)) {
+                target.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            target.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void drain(Process target) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(target.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LOGGER.debug("[PortForward] {}", line);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Port-forward output closed: {}", e.getMessage());
+        }
+    }
+}
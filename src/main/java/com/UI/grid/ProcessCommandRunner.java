@@ -0,0 +1,106 @@
+package com.UI.grid;
+
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs commands directly through ProcessBuilder, without cmd.exe or sh,
+ * so the same command line works on Windows, Linux and macOS runners
+ */
+public class ProcessCommandRunner implements CommandRunner {
+    private static final Logger LOGGER = LoggerUtil.getLogger(ProcessCommandRunner.class);
+
+    @Override
+    public CommandResult run(List<String> command, Duration timeout) {
+        LOGGER.info("Running: {}", String.join(" ", command));
+        Process process;
+        try {
+            process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        } catch (IOException e) {
+            LOGGER.error("Could not start command: {}", command.get(0), e);
+            return new CommandResult(-1, e.getMessage(), false);
+        }
+
+        StringBuilder output = new StringBuilder();
+        Thread reader = new Thread(() -> readLines(process, output), "command-output");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            boolean finished = process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!finished) {
+                process.destroyForcibly();
+                LOGGER.error("Command timed out after {} s: {}", timeout.getSeconds(), String.join(" ", command));
+            }
+            reader.join(TimeUnit.SECONDS.toMillis(1));
+            synchronized (output) {
+                return new CommandResult(finished ? process.exitValue() : -1, output.toString(), !finished);
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running " + command.get(0), e);
+        }
+    }
+
+    /**
+     * Split a configured command line into arguments.
+     * Whitespace separates arguments; single or double quotes group them.
+     * @param commandLine Command line, e.g. "kubectl create -f grid.yaml"
+     * @return Program and arguments
+     */
+    public static List<String> tokenize(String commandLine) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+        boolean inToken = false;
+        for (char c : commandLine.trim().toCharArray()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                inToken = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+        if (inToken) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private static void readLines(Process process, StringBuilder output) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LOGGER.debug("[{}] {}", process.pid(), line);
+                synchronized (output) {
+                    output.append(line).append('\n');
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Command output closed: {}", e.getMessage());
+        }
+    }
+}
@@ -4,6 +4,8 @@ import io.qameta.allure.listener.TestLifecycleListener;
 import org.testng.ITestListener;
 import com.UI.utils.LoggerUtil;
 import com.UI.utils.ScreenshotUtil;
+import com.UI.utils.ScreenshotWriter;
+import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import io.qameta.allure.model.Status;
 import io.qameta.allure.model.TestResult;
@@ -11,8 +13,11 @@ import org.apache.logging.log4j.Logger;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 public class AllureListener implements ITestListener, TestLifecycleListener {
     private static final Logger LOGGER = LoggerUtil.getLogger(AllureListener.class);
@@ -32,16 +37,27 @@ public class AllureListener implements ITestListener, TestLifecycleListener {
         LOGGER.error("Test failed: {}", result.getName());
         LOGGER.error("Failure reason: {}", result.getThrowable().getMessage());
 
-        String screenshotPath = ScreenshotUtil.takeFailureScreenshot(result.getName(), result.getInstanceName());
+        CompletableFuture<Path> screenshotFuture =
+                ScreenshotUtil.takeFailureScreenshotAsync(result.getName(), result.getInstanceName());
+        CompletableFuture<Path> elementFuture =
+                ScreenshotUtil.takeFailureElementScreenshotAsync(result.getName(), result.getInstanceName());
         try {
-            byte[] screenshot = Files.readAllBytes(Paths.get(screenshotPath));
-            saveScreenshot(screenshot);
+            attachScreenshot("Screenshot", screenshotFuture);
+            attachScreenshot("Failed Element", elementFuture);
             saveLogs(LoggerUtil.getTestLogs());
         } catch (Exception e) {
             LOGGER.error("Failed to attach screenshot to Allure report", e);
         }
     }
 
+    private static void attachScreenshot(String name, CompletableFuture<Path> future) throws IOException {
+        if (future != null) {
+            byte[] screenshot = Files.readAllBytes(future.join());
+            Allure.addAttachment(name, ScreenshotWriter.getMimeType(),
+                    new ByteArrayInputStream(screenshot), ScreenshotWriter.getExtension());
+        }
+    }
+
     @Override
     public void onTestSkipped(ITestResult result) {
         LOGGER.info("Test skipped: {}", result.getName());
@@ -55,11 +71,6 @@ public class AllureListener implements ITestListener, TestLifecycleListener {
         }
     }
 
-    @Attachment(value = "Screenshot", type = "image/png")
-    private byte[] saveScreenshot(byte[] screenshot) {
-        return screenshot;
-    }
-
     @Attachment(value = "Test Logs", type = "text/plain")
     private String saveLogs(String logs) {
         return logs;
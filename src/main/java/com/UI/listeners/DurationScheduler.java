@@ -0,0 +1,129 @@
+package com.UI.listeners;
+
+import com.UI.config.ConfigManager;
+import com.UI.utils.LoggerUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders test methods longest-first using durations recorded in previous runs,
+ * and records this run's durations for the next one.
+ * With parallel="methods" TestNG hands the next method to whichever worker frees up first,
+ * so longest-first ordering keeps slow methods from becoming the long pole.
+ */
+public class DurationScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+    private static final Logger LOGGER = LoggerUtil.getLogger(DurationScheduler.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final String HISTORY_FILE =
+            CONFIG_MANAGER.getProperty("scheduler.history.file", "test-output/history/test-durations.json");
+    // Weight of the latest run in the moving average
+    private static final double SMOOTHING = 0.5;
+
+    private static final Map<String, Long> HISTORY = loadHistory();
+    private static final Map<String, Long> CURRENT_RUN = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        long fallback = averageDuration();
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong(
+                (IMethodInstance instance) -> expectedDuration(instance.getMethod(), fallback)).reversed());
+        LOGGER.info("Scheduled {} methods longest-first using {} historical durations", ordered.size(), HISTORY.size());
+        return ordered;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (CURRENT_RUN.isEmpty()) {
+            return;
+        }
+        Map<String, Long> merged = new TreeMap<>(HISTORY);
+        CURRENT_RUN.forEach((key, duration) -> merged.merge(key, duration,
+                (previous, latest) -> Math.round(previous * (1 - SMOOTHING) + latest * SMOOTHING)));
+        try {
+            File file = new File(HISTORY_FILE);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, merged);
+            LOGGER.info("Test durations saved to: {}", HISTORY_FILE);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save test durations", e);
+        }
+    }
+
+    /**
+     * Expected duration of a method, summing all recorded data rows
+     */
+    private static long expectedDuration(ITestNGMethod method, long fallback) {
+        String methodKey = method.getQualifiedName();
+        Long whole = HISTORY.get(methodKey);
+        if (whole != null) {
+            return whole;
+        }
+        long rows = 0;
+        String rowPrefix = methodKey + "[";
+        for (Map.Entry<String, Long> entry : HISTORY.entrySet()) {
+            if (entry.getKey().startsWith(rowPrefix)) {
+                rows += entry.getValue();
+            }
+        }
+        return rows > 0 ? rows : fallback;
+    }
+
+    private static long averageDuration() {
+        return (long) HISTORY.values().stream().mapToLong(Long::longValue).average().orElse(0);
+    }
+
+    private static void record(ITestResult result) {
+        long duration = result.getEndMillis() - result.getStartMillis();
+        String key = result.getMethod().getQualifiedName();
+        Object[] parameters = result.getParameters();
+        if (parameters != null && parameters.length > 0) {
+            // Data rows are keyed by their parameter values so they survive reordering of the sheet
+            key = key + "[" + Integer.toHexString(Arrays.deepToString(parameters).hashCode()) + "]";
+        }
+        CURRENT_RUN.put(key, duration);
+    }
+
+    private static Map<String, Long> loadHistory() {
+        File file = new File(HISTORY_FILE);
+        if (!file.exists()) {
+            return new TreeMap<>();
+        }
+        try {
+            return new ObjectMapper().readValue(file, new TypeReference<TreeMap<String, Long>>() { });
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable test duration history: {}", HISTORY_FILE, e);
+            return new TreeMap<>();
+        }
+    }
+}
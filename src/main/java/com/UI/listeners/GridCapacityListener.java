@@ -0,0 +1,57 @@
+package com.UI.listeners;
+
+import com.UI.config.ConfigManager;
+import com.UI.execution.VirtualThreads;
+import com.UI.grid.GridCapacity;
+import com.UI.grid.GridCapacityMonitor;
+import com.UI.grid.GridStatusClient;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sizes the TestNG worker pool from Grid capacity before the suite starts
+ * and stops the capacity monitor when it finishes
+ */
+public class GridCapacityListener implements IAlterSuiteListener, ISuiteListener {
+    private static final Logger LOGGER = LoggerUtil.getLogger(GridCapacityListener.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!GridCapacityMonitor.isEnabled()) {
+            return;
+        }
+        String browser = CONFIG_MANAGER.getProperty("browser", "chrome").toLowerCase();
+        GridCapacity capacity = GridCapacityMonitor.start(new GridStatusClient(GridCapacityMonitor.getHubUrl()), browser);
+        int slots = capacity == null ? 0 : capacity.getTotalSlots();
+        if (GridScalingListener.isEnabled()) {
+            // Nodes added by the scaling controller need workers to use them
+            slots = Math.max(slots, GridScalingListener.getMaxSlots());
+        }
+        if (slots == 0) {
+            LOGGER.warn("Grid capacity unknown; keeping thread counts from the suite file");
+            return;
+        }
+        // Virtual workers cost no OS thread, so only Grid capacity bounds them
+        int maxThreads = VirtualThreads.isEnabled() ? Integer.MAX_VALUE
+                : Integer.parseInt(CONFIG_MANAGER.getProperty("grid.parallelism.max", "10"));
+        // The pool is sized for full capacity; GridCapacityMonitor gates how many actually run
+        int threads = Math.max(1, Math.min(slots, maxThreads));
+        for (XmlSuite suite : suites) {
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+            LOGGER.info("Suite '{}' thread count set to {} from Grid capacity {}", suite.getName(), threads, capacity);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        GridCapacityMonitor.stop();
+    }
+}
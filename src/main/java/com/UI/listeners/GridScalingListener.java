@@ -0,0 +1,148 @@
+package com.UI.listeners;
+
+import com.UI.config.ConfigManager;
+import com.UI.grid.GridCapacityMonitor;
+import com.UI.grid.GridScalingController;
+import com.UI.grid.GridStatusClient;
+import com.UI.grid.ProcessCommandRunner;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Drives {@link GridScalingController} from suite progress: pending tests are counted at suite
+ * start, data provider rows are added once they are known, and tests are subtracted as they
+ * finish; nodes are scaled back down when the suite ends.
+ * Active only when grid.scale.enabled=true and tests run on a Grid.
+ */
+public class GridScalingListener implements ISuiteListener, ITestListener, IDataProviderInterceptor {
+    private static final Logger LOGGER = LoggerUtil.getLogger(GridScalingListener.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+
+    private static volatile GridScalingController controller;
+
+    /**
+     * Check whether node scaling is configured for this run
+     * @return true if nodes should be scaled with demand
+     */
+    public static boolean isEnabled() {
+        return GridCapacityMonitor.isEnabled()
+                && Boolean.parseBoolean(CONFIG_MANAGER.getProperty("grid.scale.enabled", "false"));
+    }
+
+    /**
+     * Get the slot count available once scaled to grid.scale.max.nodes
+     * @return Maximum slots
+     */
+    public static int getMaxSlots() {
+        return Integer.parseInt(CONFIG_MANAGER.getProperty("grid.scale.max.nodes", "4"))
+                * Integer.parseInt(CONFIG_MANAGER.getProperty("grid.scale.slots.per.node", "5"));
+    }
+
+    /**
+     * Replace the controller, e.g. with one using a stub command runner
+     * @param scalingController Controller to use
+     */
+    public static void setController(GridScalingController scalingController) {
+        controller = scalingController;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (GridScalingListener.class) {
+            if (controller == null) {
+                controller = createController();
+            }
+        }
+        // A data-driven method counts once per invocation until its rows are known
+        int pending = 0;
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            pending += Math.max(1, method.getInvocationCount());
+        }
+        controller.setPendingTests(pending);
+        controller.start(Duration.ofSeconds(
+                Integer.parseInt(CONFIG_MANAGER.getProperty("grid.scale.poll.seconds", "10"))));
+        LOGGER.info("Grid scaling started for suite '{}' with {} pending test(s)", suite.getName(), pending);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        GridScalingController active = controller;
+        if (active != null) {
+            active.setPendingTests(0);
+            active.stop();
+        }
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        GridScalingController active = controller;
+        if (active == null) {
+            return original;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        original.forEachRemaining(rows::add);
+        // Replaces the one test counted for this invocation at suite start
+        active.addPendingTests(rows.size() - 1);
+        return rows.iterator();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        testFinished();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        testFinished();
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // A retried attempt is reported as skipped, but its rerun is still pending
+        if (!result.wasRetried()) {
+            testFinished();
+        }
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        testFinished();
+    }
+
+    private static void testFinished() {
+        GridScalingController active = controller;
+        if (active != null) {
+            active.testFinished();
+        }
+    }
+
+    private static GridScalingController createController() {
+        String statusUrl = CONFIG_MANAGER.getProperty("grid.status.url", GridCapacityMonitor.getHubUrl());
+        return new GridScalingController(new ProcessCommandRunner(), new GridStatusClient(statusUrl),
+                CONFIG_MANAGER.getProperty("browser", "chrome").toLowerCase(),
+                CONFIG_MANAGER.getProperty("grid.scale.command",
+                        "kubectl scale deployment/selenium-node-{browser} --replicas={replicas}"),
+                Integer.parseInt(CONFIG_MANAGER.getProperty("grid.scale.min.nodes", "1")),
+                Integer.parseInt(CONFIG_MANAGER.getProperty("grid.scale.max.nodes", "4")),
+                Integer.parseInt(CONFIG_MANAGER.getProperty("grid.scale.slots.per.node", "5")),
+                Duration.ofSeconds(Integer.parseInt(CONFIG_MANAGER.getProperty("grid.scale.down.delay.seconds", "60"))),
+                Duration.ofSeconds(Integer.parseInt(CONFIG_MANAGER.getProperty("grid.command.timeout.seconds", "120"))));
+    }
+}
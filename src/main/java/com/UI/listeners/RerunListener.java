@@ -0,0 +1,104 @@
+package com.UI.listeners;
+
+import com.UI.context.TestContext;
+import com.UI.retry.InfrastructureRetryAnalyzer;
+import com.UI.utils.LoggerUtil;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.StatusDetails;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAnnotationTransformer;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Attaches {@link InfrastructureRetryAnalyzer} to every test without its own retry analyzer and
+ * marks reruns in the reports: the superseded attempt gets a "Rerun" warning, and a rerun is
+ * tagged "Passed on rerun" or "Failed on rerun" in Extent and flagged flaky in Allure.
+ */
+public class RerunListener implements IAnnotationTransformer, ITestListener {
+    private static final Logger LOGGER = LoggerUtil.getLogger(RerunListener.class);
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        Class<? extends IRetryAnalyzer> analyzer = annotation.getRetryAnalyzerClass();
+        if (analyzer == null || DisabledRetryAnalyzer.class.equals(analyzer)) {
+            annotation.setRetryAnalyzer(InfrastructureRetryAnalyzer.class);
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        int attempt = InfrastructureRetryAnalyzer.beginAttempt(result);
+        if (attempt > 0) {
+            LOGGER.info("Rerun {} of {}", attempt, result.getName());
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        finish(result, "Passed on rerun");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        finish(result, "Failed on rerun");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        if (!result.wasRetried()) {
+            return;
+        }
+        ExtentTest test = getExtentTest(result);
+        if (test != null) {
+            test.assignCategory("Rerun");
+            test.log(Status.WARNING, "Infrastructure failure; this attempt is replaced by a rerun: "
+                    + InfrastructureRetryAnalyzer.getOriginalFailure(result));
+        }
+    }
+
+    /**
+     * Flag a rerun as flaky in Allure. Call while the test method runs, when its Allure result is open.
+     * @param result TestNG result of the running invocation
+     */
+    public static void markRerunInAllure(ITestResult result) {
+        int attempt = InfrastructureRetryAnalyzer.getAttempt(result);
+        if (attempt == 0) {
+            return;
+        }
+        Allure.getLifecycle().updateTestCase(testCase -> {
+            testCase.getLabels().add(new Label().setName("tag").setValue("rerun-" + attempt));
+            StatusDetails details = testCase.getStatusDetails() == null ? new StatusDetails() : testCase.getStatusDetails();
+            testCase.setStatusDetails(details.setFlaky(true));
+        });
+    }
+
+    private static void finish(ITestResult result, String outcome) {
+        InfrastructureRetryAnalyzer.finishAttempt(result);
+        int attempt = InfrastructureRetryAnalyzer.getAttempt(result);
+        if (attempt == 0) {
+            return;
+        }
+        LOGGER.info("{} {} of {}", outcome, attempt, result.getName());
+        ExtentTest test = getExtentTest(result);
+        if (test != null) {
+            test.assignCategory(outcome);
+            test.log(Status.WARNING, String.format("%s %d after infrastructure failure: %s",
+                    outcome, attempt, InfrastructureRetryAnalyzer.getOriginalFailure(result)));
+        }
+    }
+
+    private static ExtentTest getExtentTest(ITestResult result) {
+        TestContext context = TestContext.of(result);
+        return context == null ? null : context.getExtentTest();
+    }
+}
@@ -48,6 +48,7 @@ public class TestListener implements ITestListener {
         String testClass = result.getInstanceName();
         String testName = result.getName();
         String screenshotPath = ScreenshotUtil.takeFailureScreenshot(testName, testClass);
+        String elementPath = ScreenshotUtil.takeFailureElementScreenshot(testName, testClass);
 
         ExtentReportManager.getTest().log(Status.FAIL, "Test Failed: " + result.getThrowable().getMessage());
         ExtentReportManager.getTest().log(Status.FAIL, result.getThrowable());
@@ -55,6 +56,9 @@ public class TestListener implements ITestListener {
         if (screenshotPath != null) {
             ExtentReportManager.addScreenshotToReport(screenshotPath, "Failure Screenshot");
         }
+        if (elementPath != null) {
+            ExtentReportManager.addScreenshotToReport(elementPath, "Failed Element");
+        }
     }
 
     @Override
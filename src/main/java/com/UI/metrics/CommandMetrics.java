@@ -0,0 +1,128 @@
+package com.UI.metrics;
+
+import com.UI.reports.ExtentReportManager;
+import com.UI.utils.LoggerUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.UI.constants.FrameworkConstants.REPORT_DIRECTORY;
+
+/**
+ * Collects WebDriver command latency histograms for the suite
+ */
+public class CommandMetrics {
+    private static final Logger LOGGER = LoggerUtil.getLogger(CommandMetrics.class);
+    private static final String METRICS_FILE = REPORT_DIRECTORY + File.separator + "command-metrics.json";
+    private static final int SUMMARY_ROWS = 15;
+
+    private static final Map<String, LatencyHistogram> BY_COMMAND = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_PAGE = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_LOCATOR = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_CALLER = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_TEST = new ConcurrentHashMap<>();
+
+    private CommandMetrics() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Record one WebDriver command
+     * @param command Command (method) name
+     * @param test Test id, may be null
+     * @param page Page object class, may be null
+     * @param caller Framework utility that issued the command, may be null
+     * @param locator Locator the command targeted, may be null
+     * @param nanos Elapsed time in nanoseconds
+     */
+    public static void record(String command, String test, String page, String caller, String locator, long nanos) {
+        histogram(BY_COMMAND, command).recordNanos(nanos);
+        if (test != null) {
+            histogram(BY_TEST, test).recordNanos(nanos);
+        }
+        if (page != null) {
+            histogram(BY_PAGE, page + " " + command).recordNanos(nanos);
+        }
+        if (caller != null) {
+            histogram(BY_CALLER, caller + " " + command).recordNanos(nanos);
+        }
+        if (locator != null) {
+            histogram(BY_LOCATOR, command + " " + locator).recordNanos(nanos);
+        }
+    }
+
+    /**
+     * Write the JSON export and add a summary table to the Extent report
+     */
+    public static void exportResults() {
+        if (BY_COMMAND.isEmpty()) {
+            return;
+        }
+        Map<String, Object> export = new LinkedHashMap<>();
+        export.put("byCommand", summarize(BY_COMMAND));
+        export.put("byPage", summarize(BY_PAGE));
+        export.put("byCaller", summarize(BY_CALLER));
+        export.put("byLocator", summarize(BY_LOCATOR));
+        export.put("byTest", summarize(BY_TEST));
+        try {
+            File file = new File(METRICS_FILE);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, export);
+            LOGGER.info("WebDriver command metrics written to: {}", METRICS_FILE);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write command metrics", e);
+        }
+
+        ExtentReportManager.addSummaryTable("WebDriver Command Latency", toTable(BY_COMMAND, "Command"));
+        ExtentReportManager.addSummaryTable("Slowest Page Object Commands", toTable(BY_PAGE, "Page / Command"));
+        ExtentReportManager.addSummaryTable("Slowest Utility Commands", toTable(BY_CALLER, "Caller / Command"));
+    }
+
+    private static LatencyHistogram histogram(Map<String, LatencyHistogram> map, String key) {
+        return map.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    private static List<Map.Entry<String, LatencyHistogram>> byTotalTime(Map<String, LatencyHistogram> map) {
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Comparator.comparingLong(
+                (Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMicros()).reversed());
+        return entries;
+    }
+
+    private static Map<String, Object> summarize(Map<String, LatencyHistogram> map) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : byTotalTime(map)) {
+            summary.put(entry.getKey(), entry.getValue().toSummary());
+        }
+        return summary;
+    }
+
+    private static String[][] toTable(Map<String, LatencyHistogram> map, String keyHeader) {
+        List<Map.Entry<String, LatencyHistogram>> entries = byTotalTime(map);
+        int rows = Math.min(entries.size(), SUMMARY_ROWS);
+        String[][] table = new String[rows + 1][];
+        table[0] = new String[]{keyHeader, "Count", "Total ms", "p50 ms", "p90 ms", "p99 ms", "Max ms"};
+        for (int i = 0; i < rows; i++) {
+            LatencyHistogram histogram = entries.get(i).getValue();
+            table[i + 1] = new String[]{
+                    entries.get(i).getKey(),
+                    String.valueOf(histogram.getCount()),
+                    String.valueOf(histogram.getTotalMicros() / 1000),
+                    String.valueOf(histogram.getPercentileMicros(50) / 1000.0),
+                    String.valueOf(histogram.getPercentileMicros(90) / 1000.0),
+                    String.valueOf(histogram.getPercentileMicros(99) / 1000.0),
+                    String.valueOf(histogram.getMaxMicros() / 1000.0)
+            };
+        }
+        return table;
+    }
+}
@@ -0,0 +1,123 @@
+package com.UI.metrics;
+
+import com.UI.context.TestContext;
+import com.UI.pages.BasePage;
+import com.UI.tracing.TraceSpan;
+import com.UI.tracing.Tracer;
+import com.UI.utils.ElementUtil;
+import com.UI.utils.ScreenshotUtil;
+import com.UI.utils.WaitUtil;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * WebDriverListener that times every decorated driver, element and navigation call
+ * and emits each call as a trace span
+ */
+public class CommandTimingListener implements WebDriverListener {
+    private static final StackWalker STACK_WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ThreadLocal<Deque<Long>> START_TIMES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final boolean recordMetrics;
+    private final boolean trace;
+
+    /**
+     * Constructor for CommandTimingListener
+     * @param recordMetrics Record latency histograms in {@link CommandMetrics}
+     * @param trace Emit a span per call through the {@link Tracer}
+     */
+    public CommandTimingListener(boolean recordMetrics, boolean trace) {
+        this.recordMetrics = recordMetrics;
+        this.trace = trace;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (trace) {
+            Tracer.startSpan("webdriver." + method.getName());
+        }
+        START_TIMES.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method, args, null);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        record(target, method, args, cause.getClass().getSimpleName());
+    }
+
+    private void record(Object target, Method method, Object[] args, String error) {
+        Deque<Long> starts = START_TIMES.get();
+        if (starts.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - starts.pop();
+        String[] origin = findOrigin();
+        String locator = describeLocator(target, args);
+        if (recordMetrics) {
+            TestContext context = TestContext.current();
+            CommandMetrics.record(method.getName(), context == null ? null : context.getTestId(),
+                    origin[0], origin[1], locator, elapsed);
+        }
+        if (trace) {
+            TraceSpan span = Tracer.currentSpan()
+                    .setAttribute("webdriver.command", method.getName())
+                    .setAttribute("page", origin[0])
+                    .setAttribute("caller", origin[1])
+                    .setAttribute("locator", locator);
+            if (error != null) {
+                span.setError(error);
+            }
+            Tracer.endSpan(span);
+        }
+    }
+
+    /**
+     * Find the page object and framework utility on the call stack
+     * @return Array of page class simple name and utility simple name, either may be null
+     */
+    private static String[] findOrigin() {
+        String[] origin = new String[2];
+        STACK_WALKER.walk(frames -> {
+            Iterator<Class<?>> classes = frames.<Class<?>>map(StackWalker.StackFrame::getDeclaringClass).iterator();
+            while (classes.hasNext() && origin[0] == null) {
+                Class<?> clazz = classes.next();
+                if (origin[1] == null && (clazz == WaitUtil.class || clazz == ElementUtil.class
+                        || clazz == ScreenshotUtil.class)) {
+                    origin[1] = clazz.getSimpleName();
+                }
+                if (clazz != BasePage.class && BasePage.class.isAssignableFrom(clazz)) {
+                    origin[0] = clazz.getSimpleName();
+                }
+            }
+            return null;
+        });
+        return origin;
+    }
+
+    private static String describeLocator(Object target, Object[] args) {
+        if (args != null && args.length > 0 && args[0] instanceof By) {
+            return args[0].toString();
+        }
+        if (target instanceof WebElement) {
+            String description = target.toString();
+            int arrow = description.lastIndexOf("-> ");
+            if (arrow >= 0) {
+                return description.substring(arrow + 3, description.length() - 1);
+            }
+        }
+        return null;
+    }
+}
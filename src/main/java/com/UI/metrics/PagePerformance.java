@@ -0,0 +1,280 @@
+package com.UI.metrics;
+
+import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
+import com.UI.drivers.DriverManager;
+import com.UI.reports.ExtentReportManager;
+import com.UI.utils.LoggerUtil;
+import com.aventstack.extentreports.ExtentTest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.UI.constants.FrameworkConstants.REPORT_DIRECTORY;
+
+/**
+ * Captures Navigation, Paint and Resource Timing entries of the last page of each test with a
+ * single script call at teardown. Each test becomes one line in page-performance.ndjson; resources
+ * are compact arrays of [url, initiatorType, startMs, durationMs, transferBytes, bodyBytes, status, protocol].
+ * Cross-origin resources report 0 bytes unless the server sends Timing-Allow-Origin.
+ * TTFB, DOMContentLoaded, load and transfer bytes are compared with a baseline file, and
+ * regressions are flagged in the Extent report.
+ */
+public class PagePerformance {
+    private static final Logger LOGGER = LoggerUtil.getLogger(PagePerformance.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ENTRIES_FILE = REPORT_DIRECTORY + File.separator + "page-performance.ndjson";
+    private static final String SUMMARY_FILE = REPORT_DIRECTORY + File.separator + "page-performance-summary.json";
+    private static final String[] METRICS = {"ttfbMs", "dclMs", "loadMs", "transferBytes"};
+
+    private static final String CAPTURE_SCRIPT =
+            "var round = Math.round;"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "var paint = {};"
+            + "performance.getEntriesByType('paint').forEach(function(p) { paint[p.name] = round(p.startTime); });"
+            + "var resources = performance.getEntriesByType('resource').map(function(e) {"
+            + "  return [e.name, e.initiatorType, round(e.startTime), round(e.duration), e.transferSize || 0,"
+            + "    e.encodedBodySize || 0, e.responseStatus || 0, e.nextHopProtocol || ''];"
+            + "});"
+            + "return {url: location.href, paint: paint, resources: resources, nav: nav ? {"
+            + "  type: nav.type, status: nav.responseStatus || 0, transferBytes: nav.transferSize || 0,"
+            + "  ttfbMs: round(nav.responseStart - nav.startTime),"
+            + "  dclMs: round(nav.domContentLoadedEventEnd - nav.startTime),"
+            + "  loadMs: round(nav.loadEventEnd - nav.startTime)} : null};";
+
+    private static final Map<String, List<Map<String, Long>>> BY_TEST = new ConcurrentHashMap<>();
+    private static BufferedWriter entriesWriter;
+    private static Map<String, Map<String, Long>> baseline;
+
+    private PagePerformance() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether page performance capture is enabled
+     * @return true if metrics.page.enabled is set
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(CONFIG_MANAGER.getProperty("metrics.page.enabled", "false"));
+    }
+
+    /**
+     * Capture the page when the context closes. Register after the driver is created so the
+     * capture runs before the driver is quit.
+     * @param context Test context
+     */
+    public static void beginTest(TestContext context) {
+        if (isEnabled()) {
+            context.onClose(PagePerformance::capture);
+        }
+    }
+
+    /**
+     * Collect timing entries from the current page, write them and report the summary
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture() {
+        TestContext context = TestContext.current();
+        WebDriver driver = DriverManager.getDriver();
+        if (context == null || driver == null) {
+            return;
+        }
+        Map<String, Object> page;
+        try {
+            page = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        } catch (WebDriverException | ClassCastException e) {
+            LOGGER.debug("Page timings unavailable: {}", e.getMessage());
+            return;
+        }
+        if (page == null || page.get("nav") == null) {
+            return;
+        }
+        String testKey = toTestKey(context.getTestId());
+        Map<String, Long> summary = summarize(page);
+        BY_TEST.computeIfAbsent(testKey, key -> Collections.synchronizedList(new ArrayList<>())).add(summary);
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("test", context.getTestId());
+        line.put("failed", context.getFailure() != null);
+        line.putAll(page);
+        writeLine(line);
+        report(testKey, summary, (String) page.get("url"));
+    }
+
+    /**
+     * Write per-test medians, which can be promoted to the baseline file, and add a summary table
+     */
+    public static void exportResults() {
+        if (BY_TEST.isEmpty()) {
+            return;
+        }
+        closeWriter();
+        Map<String, Map<String, Long>> medians = new LinkedHashMap<>();
+        BY_TEST.forEach((test, samples) -> medians.put(test, median(samples)));
+        try {
+            File file = new File(SUMMARY_FILE);
+            file.getParentFile().mkdirs();
+            OBJECT_MAPPER.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file, medians);
+            LOGGER.info("Page performance written to: {} and {}", ENTRIES_FILE, SUMMARY_FILE);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write page performance summary", e);
+        }
+
+        Map<String, Map<String, Long>> base = getBaseline();
+        String[][] table = new String[medians.size() + 1][];
+        table[0] = new String[]{"Test", "TTFB ms", "DCL ms", "Load ms", "Transfer KB", "Baseline load ms", "Status"};
+        int row = 1;
+        for (Map.Entry<String, Map<String, Long>> entry : medians.entrySet()) {
+            Map<String, Long> values = entry.getValue();
+            Map<String, Long> expected = base.get(entry.getKey());
+            table[row++] = new String[]{entry.getKey(), String.valueOf(values.get("ttfbMs")),
+                    String.valueOf(values.get("dclMs")), String.valueOf(values.get("loadMs")),
+                    String.valueOf(values.get("transferBytes") / 1024),
+                    expected == null ? "-" : String.valueOf(expected.get("loadMs")),
+                    expected == null ? "no baseline" : (findRegressions(values, expected).isEmpty() ? "ok" : "regressed")};
+        }
+        ExtentReportManager.addSummaryTable("Page Performance (median per test)", table);
+    }
+
+    private static Map<String, Long> summarize(Map<String, Object> page) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> nav = (Map<String, Object>) page.get("nav");
+        long transfer = toLong(nav.get("transferBytes"));
+        int requests = 1;
+        for (Object resource : (List<?>) page.get("resources")) {
+            transfer += toLong(((List<?>) resource).get(4));
+            requests++;
+        }
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("ttfbMs", toLong(nav.get("ttfbMs")));
+        summary.put("dclMs", toLong(nav.get("dclMs")));
+        summary.put("loadMs", toLong(nav.get("loadMs")));
+        summary.put("transferBytes", transfer);
+        summary.put("requests", (long) requests);
+        return summary;
+    }
+
+    private static void report(String testKey, Map<String, Long> summary, String url) {
+        String text = String.format("Page performance of %s: TTFB %d ms, DCL %d ms, load %d ms, %d KB in %d requests",
+                url, summary.get("ttfbMs"), summary.get("dclMs"), summary.get("loadMs"),
+                summary.get("transferBytes") / 1024, summary.get("requests"));
+        ExtentTest test = ExtentReportManager.getTest();
+        if (test != null) {
+            test.info(text);
+        }
+        Map<String, Long> expected = getBaseline().get(testKey);
+        if (expected == null) {
+            return;
+        }
+        List<String> regressions = findRegressions(summary, expected);
+        if (!regressions.isEmpty()) {
+            String warning = "Page performance regression vs baseline: " + String.join(", ", regressions);
+            LOGGER.warn("{} ({})", warning, testKey);
+            if (test != null) {
+                test.warning(warning);
+            }
+        }
+    }
+
+    private static List<String> findRegressions(Map<String, Long> actual, Map<String, Long> expected) {
+        double allowed = 1 + Integer.parseInt(CONFIG_MANAGER.getProperty("metrics.page.regression.percent", "20")) / 100.0;
+        long minMillis = Long.parseLong(CONFIG_MANAGER.getProperty("metrics.page.regression.min.millis", "100"));
+        long minBytes = Long.parseLong(CONFIG_MANAGER.getProperty("metrics.page.regression.min.bytes", "10240"));
+        List<String> regressions = new ArrayList<>();
+        for (String metric : METRICS) {
+            Long base = expected.get(metric);
+            Long value = actual.get(metric);
+            if (base == null || value == null || base <= 0) {
+                continue;
+            }
+            // Small absolute changes on fast pages are noise, whatever their percentage
+            long slack = "transferBytes".equals(metric) ? minBytes : minMillis;
+            if (value > base * allowed && value - base > slack) {
+                regressions.add(String.format("%s %d > %d (+%d%%)", metric, value, base, (value - base) * 100 / base));
+            }
+        }
+        return regressions;
+    }
+
+    private static synchronized Map<String, Map<String, Long>> getBaseline() {
+        if (baseline == null) {
+            File file = new File(CONFIG_MANAGER.getProperty("metrics.page.baseline",
+                    "src/test/resources/performance/page-baseline.json"));
+            baseline = Collections.emptyMap();
+            if (file.isFile()) {
+                try {
+                    baseline = OBJECT_MAPPER.readValue(file, new TypeReference<Map<String, Map<String, Long>>>() { });
+                    LOGGER.info("Loaded page performance baseline for {} test(s) from {}", baseline.size(), file);
+                } catch (IOException e) {
+                    LOGGER.error("Failed to read page performance baseline: {}", file, e);
+                }
+            }
+        }
+        return baseline;
+    }
+
+    private static synchronized void writeLine(Map<String, Object> line) {
+        try {
+            if (entriesWriter == null) {
+                File file = new File(ENTRIES_FILE);
+                file.getParentFile().mkdirs();
+                entriesWriter = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+            }
+            entriesWriter.write(OBJECT_MAPPER.writeValueAsString(line));
+            entriesWriter.newLine();
+            entriesWriter.flush();
+        } catch (IOException e) {
+            LOGGER.error("Failed to write page timings", e);
+        }
+    }
+
+    private static synchronized void closeWriter() {
+        if (entriesWriter != null) {
+            try {
+                entriesWriter.close();
+            } catch (IOException e) {
+                LOGGER.debug("Failed to close page timings file: {}", e.getMessage());
+            }
+            entriesWriter = null;
+        }
+    }
+
+    private static Map<String, Long> median(List<Map<String, Long>> samples) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        synchronized (samples) {
+            for (String metric : samples.get(0).keySet()) {
+                List<Long> values = new ArrayList<>();
+                samples.forEach(sample -> values.add(sample.get(metric)));
+                Collections.sort(values);
+                result.put(metric, values.get(values.size() / 2));
+            }
+        }
+        return result;
+    }
+
+    private static String toTestKey(String testId) {
+        int invocation = testId.lastIndexOf('#');
+        return invocation < 0 ? testId : testId.substring(0, invocation);
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+}
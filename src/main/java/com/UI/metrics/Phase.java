@@ -0,0 +1,28 @@
+package com.UI.metrics;
+
+/**
+ * Phases of a test tracked by {@link PhaseTimer}
+ */
+public enum Phase {
+    DRIVER_SETUP(true),
+    NAVIGATION(true),
+    WAIT(false),
+    ACTION(false),
+    SCREENSHOT(false),
+    TEARDOWN(true);
+
+    private final boolean absorbsNested;
+
+    Phase(boolean absorbsNested) {
+        this.absorbsNested = absorbsNested;
+    }
+
+    /**
+     * Coarse phases keep the time of spans started inside them,
+     * e.g. the page-load wait inside a navigation counts as navigation
+     * @return true if nested spans are charged to this phase
+     */
+    public boolean absorbsNested() {
+        return absorbsNested;
+    }
+}
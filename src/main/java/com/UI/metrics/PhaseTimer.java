@@ -0,0 +1,221 @@
+package com.UI.metrics;
+
+import com.UI.context.TestContext;
+import com.UI.reports.ExtentReportManager;
+import com.UI.utils.LoggerUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.UI.constants.FrameworkConstants.REPORT_DIRECTORY;
+
+/**
+ * Records monotonic-clock phase spans per test and aggregates them per class and per suite.
+ * Spans are exclusive: time spent in a nested WAIT inside an ACTION is charged to WAIT only,
+ * unless the outer phase absorbs nested spans.
+ */
+public class PhaseTimer {
+    private static final Logger LOGGER = LoggerUtil.getLogger(PhaseTimer.class);
+    private static final String TIMINGS_FILE = REPORT_DIRECTORY + File.separator + "phase-timings.json";
+    private static final Phase[] PHASES = Phase.values();
+    private static final int OTHER = PHASES.length;
+
+    private static final TestContext.Key<TestTimings> TIMINGS = TestContext.Key.of("phase.timings");
+    private static final Map<String, AtomicLongArray> BY_CLASS = new ConcurrentHashMap<>();
+    private static final AtomicLongArray SUITE = new AtomicLongArray(PHASES.length + 1);
+    private static final List<Map<String, Object>> TESTS = Collections.synchronizedList(new ArrayList<>());
+
+    private static final Span NOOP = () -> { };
+
+    private PhaseTimer() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Start timing a test; timings are folded into the totals when the context closes
+     * @param context Test context
+     * @param testClass Test class name used for per-class aggregation
+     */
+    public static void beginTest(TestContext context, String testClass) {
+        context.put(TIMINGS, new TestTimings(context.getTestId(), testClass));
+        context.onClose(PhaseTimer::endTest);
+    }
+
+    /**
+     * Start a phase span; close the returned span to end it.
+     * Returns a no-op span when the current test is not being timed.
+     * @param phase Phase to record
+     * @return Span to close when the phase ends
+     */
+    public static Span start(Phase phase) {
+        TestContext context = TestContext.current();
+        TestTimings timings = context == null ? null : context.get(TIMINGS);
+        return timings == null ? NOOP : timings.push(phase);
+    }
+
+    /**
+     * Finish the current test and fold its timings into the class and suite totals
+     */
+    public static void endTest() {
+        TestContext context = TestContext.current();
+        TestTimings timings = context == null ? null : context.get(TIMINGS);
+        if (timings == null) {
+            return;
+        }
+        context.put(TIMINGS, null);
+        long[] nanos = timings.finish();
+        AtomicLongArray classTotals = BY_CLASS.computeIfAbsent(timings.testClass,
+                key -> new AtomicLongArray(PHASES.length + 1));
+        for (int i = 0; i < nanos.length; i++) {
+            classTotals.addAndGet(i, nanos[i]);
+            SUITE.addAndGet(i, nanos[i]);
+        }
+        Map<String, Object> test = new LinkedHashMap<>();
+        test.put("test", timings.testId);
+        test.put("class", timings.testClass);
+        test.put("phasesMs", toMillis(nanos));
+        TESTS.add(test);
+    }
+
+    /**
+     * Write the timing file and add a per-class summary table to the Extent report
+     */
+    public static void exportResults() {
+        if (TESTS.isEmpty()) {
+            return;
+        }
+        Map<String, Object> export = new LinkedHashMap<>();
+        export.put("suiteMs", toMillis(snapshot(SUITE)));
+        Map<String, Object> classes = new LinkedHashMap<>();
+        BY_CLASS.forEach((testClass, totals) -> classes.put(testClass, toMillis(snapshot(totals))));
+        export.put("classesMs", classes);
+        synchronized (TESTS) {
+            export.put("tests", new ArrayList<>(TESTS));
+        }
+        try {
+            File file = new File(TIMINGS_FILE);
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, export);
+            LOGGER.info("Phase timings written to: {}", TIMINGS_FILE);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write phase timings", e);
+        }
+
+        String[][] table = new String[BY_CLASS.size() + 2][];
+        table[0] = new String[PHASES.length + 2];
+        table[0][0] = "Class";
+        for (int i = 0; i < PHASES.length; i++) {
+            table[0][i + 1] = PHASES[i].name() + " ms";
+        }
+        table[0][OTHER + 1] = "OTHER ms";
+        int row = 1;
+        for (Map.Entry<String, AtomicLongArray> entry : BY_CLASS.entrySet()) {
+            table[row++] = toRow(entry.getKey(), snapshot(entry.getValue()));
+        }
+        table[row] = toRow("Suite", snapshot(SUITE));
+        ExtentReportManager.addSummaryTable("Test Phase Timings", table);
+    }
+
+    private static long[] snapshot(AtomicLongArray totals) {
+        long[] values = new long[totals.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = totals.get(i);
+        }
+        return values;
+    }
+
+    private static Map<String, Long> toMillis(long[] nanos) {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        for (int i = 0; i < PHASES.length; i++) {
+            millis.put(PHASES[i].name(), TimeUnit.NANOSECONDS.toMillis(nanos[i]));
+        }
+        millis.put("OTHER", TimeUnit.NANOSECONDS.toMillis(nanos[OTHER]));
+        return millis;
+    }
+
+    private static String[] toRow(String label, long[] nanos) {
+        String[] row = new String[nanos.length + 1];
+        row[0] = label;
+        for (int i = 0; i < nanos.length; i++) {
+            row[i + 1] = String.valueOf(TimeUnit.NANOSECONDS.toMillis(nanos[i]));
+        }
+        return row;
+    }
+
+    /**
+     * A running phase span
+     */
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Span stack and accumulated phase times for one test
+     */
+    private static final class TestTimings {
+        private final String testId;
+        private final String testClass;
+        private final long startNanos = System.nanoTime();
+        private final long[] nanos = new long[PHASES.length + 1];
+        private final Deque<long[]> stack = new ArrayDeque<>();
+
+        private TestTimings(String testId, String testClass) {
+            this.testId = testId;
+            this.testClass = testClass;
+        }
+
+        private Span push(Phase phase) {
+            long now = System.nanoTime();
+            long[] top = stack.peek();
+            if (top != null) {
+                if (PHASES[(int) top[0]].absorbsNested()) {
+                    return NOOP;
+                }
+                // Pause the outer span; it resumes when this one closes
+                nanos[(int) top[0]] += now - top[1];
+            }
+            long[] frame = {phase.ordinal(), now};
+            stack.push(frame);
+            return () -> pop(frame);
+        }
+
+        private void pop(long[] frame) {
+            if (stack.peek() != frame) {
+                return;
+            }
+            long now = System.nanoTime();
+            stack.pop();
+            nanos[(int) frame[0]] += now - frame[1];
+            long[] outer = stack.peek();
+            if (outer != null) {
+                outer[1] = now;
+            }
+        }
+
+        private long[] finish() {
+            while (!stack.isEmpty()) {
+                pop(stack.peek());
+            }
+            long tracked = 0;
+            for (int i = 0; i < PHASES.length; i++) {
+                tracked += nanos[i];
+            }
+            nanos[OTHER] = Math.max(0, System.nanoTime() - startNanos - tracked);
+            return nanos;
+        }
+    }
+}
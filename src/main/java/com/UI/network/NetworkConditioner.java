@@ -0,0 +1,137 @@
+package com.UI.network;
+
+import com.UI.context.TestContext;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Applies a {@link NetworkProfile} to Chromium sessions.
+ * Images are turned off through a browser preference when the session is created; URL blocking
+ * and throttling are sent as Chrome DevTools Protocol commands once it exists. Local drivers use
+ * the chromedriver CDP endpoint, remote sessions the Grid DevTools connection (se:cdp), which
+ * stays open for the test so the settings hold and is closed by {@link #close()}.
+ */
+public class NetworkConditioner {
+    private static final Logger LOGGER = LoggerUtil.getLogger(NetworkConditioner.class);
+    private static final TestContext.Key<DevTools> DEV_TOOLS = TestContext.Key.of("network.devtools");
+
+    private NetworkConditioner() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Add the preferences a profile needs before the session starts
+     * @param options Chrome or Edge options
+     * @param profile Network profile
+     */
+    public static void configure(ChromiumOptions<?> options, NetworkProfile profile) {
+        if (profile.isBlockImages()) {
+            Map<String, Object> prefs = new HashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+    }
+
+    /**
+     * Send the DevTools commands for a profile to a running session.
+     * Failures are logged rather than thrown: a profile only speeds up or shapes page loads.
+     * @param driver Undecorated WebDriver instance
+     * @param profile Network profile
+     * @return true if the profile is fully applied
+     */
+    public static boolean apply(WebDriver driver, NetworkProfile profile) {
+        if (!profile.needsDevTools()) {
+            return true;
+        }
+        try {
+            // Connecting to DevTools (the Grid se:cdp websocket) can fail too
+            Optional<BiConsumer<String, Map<String, Object>>> cdp = cdpFor(driver);
+            if (!cdp.isPresent()) {
+                LOGGER.warn("Network profile {} needs Chrome DevTools, which this session does not offer", profile.getName());
+                return false;
+            }
+            cdp.get().accept("Network.enable", Collections.emptyMap());
+            if (!profile.getBlockedUrlPatterns().isEmpty()) {
+                cdp.get().accept("Network.setBlockedURLs",
+                        Collections.singletonMap("urls", profile.getBlockedUrlPatterns()));
+            }
+            if (profile.isThrottled()) {
+                Map<String, Object> conditions = new LinkedHashMap<>();
+                conditions.put("offline", false);
+                conditions.put("latency", profile.getLatencyMillis());
+                conditions.put("downloadThroughput", toBytesPerSecond(profile.getDownloadKbps()));
+                conditions.put("uploadThroughput", toBytesPerSecond(profile.getUploadKbps()));
+                cdp.get().accept("Network.emulateNetworkConditions", conditions);
+            }
+            LOGGER.info("Applied network profile {}", profile);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not apply network profile {}: {}", profile.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Close the DevTools connection opened for the current test's remote session, if any.
+     * Register on the TestContext before the driver's quit, so it runs after the session is gone.
+     */
+    public static void close() {
+        TestContext context = TestContext.current();
+        DevTools devTools = context == null ? null : context.get(DEV_TOOLS);
+        if (devTools == null) {
+            return;
+        }
+        context.put(DEV_TOOLS, null);
+        try {
+            devTools.close();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not close DevTools connection: {}", e.getMessage());
+        }
+    }
+
+    private static Optional<BiConsumer<String, Map<String, Object>>> cdpFor(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            HasCdp local = (HasCdp) driver;
+            return Optional.of(local::executeCdpCommand);
+        }
+        if (!(driver instanceof RemoteWebDriver)) {
+            return Optional.empty();
+        }
+        // Augmenter adds DevTools when the Grid advertised an se:cdp endpoint for the session
+        WebDriver augmented = new Augmenter().augment(driver);
+        if (!(augmented instanceof HasDevTools)) {
+            return Optional.empty();
+        }
+        return ((HasDevTools) augmented).maybeGetDevTools().map(devTools -> {
+            TestContext context = TestContext.current();
+            if (context != null) {
+                context.put(DEV_TOOLS, devTools);
+            }
+            devTools.createSessionIfThereIsNotOne();
+            return (method, params) -> send(devTools, method, params);
+        });
+    }
+
+    private static void send(DevTools devTools, String method, Map<String, Object> params) {
+        devTools.send(new Command<Void>(method, params));
+    }
+
+    private static int toBytesPerSecond(int kbps) {
+        return kbps < 0 ? -1 : kbps * 1024 / 8;
+    }
+}
@@ -0,0 +1,152 @@
+package com.UI.network;
+
+import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Network conditions for a browser session: blocked URL patterns, blocked images or fonts,
+ * and optional throttling. Profiles are defined in config.properties as
+ * network.profile.&lt;name&gt;.block.urls, .block.images, .block.fonts, .latency.ms,
+ * .download.kbps and .upload.kbps.
+ */
+public final class NetworkProfile {
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final TestContext.Key<String> TEST_PROFILE = TestContext.Key.of("network.profile");
+    private static final List<String> FONT_PATTERNS = Arrays.asList(
+            "*.woff*", "*.ttf*", "*.otf*", "*.eot*", "*fonts.googleapis.com*", "*fonts.gstatic.com*");
+
+    /** Profile that leaves the network untouched */
+    public static final NetworkProfile NONE = new NetworkProfile("none", Collections.emptyList(), false, false, 0, -1, -1);
+
+    private final String name;
+    private final List<String> blockedUrls;
+    private final boolean blockImages;
+    private final boolean blockFonts;
+    private final int latencyMillis;
+    private final int downloadKbps;
+    private final int uploadKbps;
+
+    /**
+     * Constructor for NetworkProfile
+     * @param name Profile name
+     * @param blockedUrls URL patterns to block; * matches any characters
+     * @param blockImages Whether the browser should not load images
+     * @param blockFonts Whether web font requests should be blocked
+     * @param latencyMillis Added round-trip latency, 0 for none
+     * @param downloadKbps Download limit in kilobits per second, -1 for unlimited
+     * @param uploadKbps Upload limit in kilobits per second, -1 for unlimited
+     */
+    public NetworkProfile(String name, List<String> blockedUrls, boolean blockImages, boolean blockFonts,
+                          int latencyMillis, int downloadKbps, int uploadKbps) {
+        this.name = name;
+        this.blockedUrls = Collections.unmodifiableList(new ArrayList<>(blockedUrls));
+        this.blockImages = blockImages;
+        this.blockFonts = blockFonts;
+        this.latencyMillis = latencyMillis;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+    }
+
+    /**
+     * Load a profile from configuration
+     * @param name Profile name; blank or "none" gives {@link #NONE}
+     * @return Network profile
+     */
+    public static NetworkProfile named(String name) {
+        if (name == null || name.trim().isEmpty() || "none".equalsIgnoreCase(name.trim())) {
+            return NONE;
+        }
+        String prefix = "network.profile." + name.trim() + ".";
+        List<String> urls = new ArrayList<>();
+        for (String pattern : CONFIG_MANAGER.getProperty(prefix + "block.urls", "").split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                urls.add(pattern.trim());
+            }
+        }
+        return new NetworkProfile(name.trim(), urls,
+                Boolean.parseBoolean(CONFIG_MANAGER.getProperty(prefix + "block.images", "false")),
+                Boolean.parseBoolean(CONFIG_MANAGER.getProperty(prefix + "block.fonts", "false")),
+                Integer.parseInt(CONFIG_MANAGER.getProperty(prefix + "latency.ms", "0")),
+                Integer.parseInt(CONFIG_MANAGER.getProperty(prefix + "download.kbps", "-1")),
+                Integer.parseInt(CONFIG_MANAGER.getProperty(prefix + "upload.kbps", "-1")));
+    }
+
+    /**
+     * Select the profile for the current test, taking precedence over network.profile
+     * @param name Profile name
+     */
+    public static void selectForTest(String name) {
+        TestContext.require().put(TEST_PROFILE, name);
+    }
+
+    /**
+     * Resolve the profile for the current test
+     * @return Profile selected for the test, or the one named by network.profile
+     */
+    public static NetworkProfile forCurrentTest() {
+        TestContext context = TestContext.current();
+        String selected = context == null ? null : context.get(TEST_PROFILE);
+        return named(selected != null ? selected : CONFIG_MANAGER.getProperty("network.profile", "none"));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get all URL patterns to block, including font patterns when fonts are blocked
+     * @return Blocked URL patterns
+     */
+    public List<String> getBlockedUrlPatterns() {
+        if (!blockFonts) {
+            return blockedUrls;
+        }
+        List<String> patterns = new ArrayList<>(blockedUrls);
+        patterns.addAll(FONT_PATTERNS);
+        return patterns;
+    }
+
+    public boolean isBlockImages() {
+        return blockImages;
+    }
+
+    public int getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public int getDownloadKbps() {
+        return downloadKbps;
+    }
+
+    public int getUploadKbps() {
+        return uploadKbps;
+    }
+
+    /**
+     * Check whether the profile emulates a slower network
+     * @return true if latency or bandwidth limits are set
+     */
+    public boolean isThrottled() {
+        return latencyMillis > 0 || downloadKbps >= 0 || uploadKbps >= 0;
+    }
+
+    /**
+     * Check whether the profile needs DevTools commands once the session exists
+     * @return true if URLs are blocked or the network is throttled
+     */
+    public boolean needsDevTools() {
+        return !getBlockedUrlPatterns().isEmpty() || isThrottled();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[blocked=%d, images=%s, latency=%dms, down=%dkbps, up=%dkbps]",
+                name, getBlockedUrlPatterns().size(), blockImages ? "off" : "on",
+                latencyMillis, downloadKbps, uploadKbps);
+    }
+}
@@ -0,0 +1,20 @@
+package com.UI.network;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the network profile for a test method or every test in a class.
+ * Overrides the suite parameter and the network.profile config property.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface WithNetworkProfile {
+
+    /**
+     * @return Profile name as defined by network.profile.&lt;name&gt;.* properties
+     */
+    String value();
+}
@@ -0,0 +1,347 @@
+package com.UI.pages;
+
+import com.UI.config.ConfigManager;
+import com.UI.metrics.Phase;
+import com.UI.metrics.PhaseTimer;
+import com.UI.tracing.TraceSpan;
+import com.UI.tracing.Tracer;
+import com.UI.utils.ElementUtil;
+import com.UI.utils.LoggerUtil;
+import com.UI.utils.WaitUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Collects fill, click and read steps of a page object and runs them with as few WebDriver round
+ * trips as possible. With page.batch.mode=script and only id, name, class name, tag name, CSS or
+ * XPath locators, all steps run in one executeScript call (id, name and class name are turned into
+ * CSS selectors, as Selenium does for W3C remote ends); a step whose element
+ * is missing or hidden makes the batch wait for that element and resume from it. Otherwise the
+ * steps run one by one through {@link ElementUtil}.
+ * Script steps act like JavaScript: fill sets the value and fires input and change events, click
+ * calls element.click(), so no key events are sent and overlapping elements do not intercept clicks.
+ * A step that navigates should be the last one.
+ * Reads return futures that complete when {@link #execute()} reaches them; on failure, pending
+ * futures complete exceptionally with the {@link ActionBatchException}.
+ */
+public class ActionBatch {
+    private static final Logger LOGGER = LoggerUtil.getLogger(ActionBatch.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    // Locator strategies the batch script can resolve; link text and custom locators run sequentially
+    private static final Set<String> SCRIPT_LOCATORS = new HashSet<>(
+            Arrays.asList("css selector", "xpath", "tag name"));
+    // Step the batch script is on, readable after the script itself failed
+    private static final String PROGRESS_MARKER = "__uiBatchStep";
+
+    private static final String BATCH_SCRIPT =
+            "var steps = arguments[0], from = arguments[1], reads = {};"
+            + "function find(s) {"
+            + "  switch (s.using) {"
+            + "    case 'xpath':"
+            + "      return document.evaluate(s.value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    case 'tag name': return document.getElementsByTagName(s.value)[0] || null;"
+            + "    default: return document.querySelector(s.value);"
+            + "  }"
+            + "}"
+            + "function visible(el) {"
+            + "  return (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0)"
+            + "    && getComputedStyle(el).visibility !== 'hidden';"
+            + "}"
+            + "function fail(i, reason, message) { return {failed: i, reason: reason, message: message || reason, reads: reads}; }"
+            + "for (var i = from; i < steps.length; i++) {"
+            + "  window." + PROGRESS_MARKER + " = i;"
+            + "  var s = steps[i], el;"
+            + "  try { el = find(s); } catch (e) { return fail(i, 'error', String(e)); }"
+            + "  if (!el) { return fail(i, 'missing', 'element not found'); }"
+            + "  if (s.op === 'read') {"
+            + "    reads[i] = s.attribute ? el.getAttribute(s.attribute) : (el.innerText || el.textContent || '').trim();"
+            + "    continue;"
+            + "  }"
+            + "  if (!visible(el)) { return fail(i, 'hidden', 'element not visible'); }"
+            + "  if (el.disabled || (s.op === 'fill' && el.readOnly)) { return fail(i, 'disabled', 'element not enabled'); }"
+            + "  try {"
+            + "    if (s.op === 'fill') {"
+            + "      el.focus();"
+            + "      var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype"
+            + "        : el instanceof HTMLInputElement ? HTMLInputElement.prototype : null;"
+            + "      var descriptor = proto && Object.getOwnPropertyDescriptor(proto, 'value');"
+            // The native setter keeps frameworks such as React, which wrap value, in sync
+            + "      if (descriptor && descriptor.set) { descriptor.set.call(el, s.text); } else { el.value = s.text; }"
+            + "      el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "      el.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "    } else {"
+            + "      el.click();"
+            + "    }"
+            + "  } catch (e) { return fail(i, 'error', String(e)); }"
+            + "}"
+            + "return {failed: -1, reads: reads};";
+
+    private final WebDriver driver;
+    private final List<Step> steps = new ArrayList<>();
+    private boolean executed;
+
+    /**
+     * Constructor for ActionBatch
+     * @param driver Driver the steps run on
+     */
+    ActionBatch(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Replace the value of an input or textarea
+     * @param locator Element locator
+     * @param text Text to set
+     * @return This batch
+     */
+    public ActionBatch fill(By locator, String text) {
+        steps.add(new Step("fill", locator, text, null));
+        return this;
+    }
+
+    /**
+     * Click an element
+     * @param locator Element locator
+     * @return This batch
+     */
+    public ActionBatch click(By locator) {
+        steps.add(new Step("click", locator, null, null));
+        return this;
+    }
+
+    /**
+     * Read the visible text of an element at this point of the batch
+     * @param locator Element locator
+     * @return Future completed with the text when the batch reaches this step
+     */
+    public CompletableFuture<String> read(By locator) {
+        Step step = new Step("read", locator, null, null);
+        steps.add(step);
+        return step.result;
+    }
+
+    /**
+     * Read an attribute of an element at this point of the batch
+     * @param locator Element locator
+     * @param attribute Attribute name
+     * @return Future completed with the attribute value, or null if absent
+     */
+    public CompletableFuture<String> readAttribute(By locator, String attribute) {
+        Step step = new Step("read", locator, null, attribute);
+        steps.add(step);
+        return step.result;
+    }
+
+    /**
+     * Run the collected steps in order
+     * @throws ActionBatchException If a step fails; earlier steps stay applied
+     */
+    public void execute() {
+        if (executed) {
+            throw new IllegalStateException("Action batch already executed");
+        }
+        executed = true;
+        if (steps.isEmpty()) {
+            return;
+        }
+        boolean scriptMode = "script".equalsIgnoreCase(CONFIG_MANAGER.getProperty("page.batch.mode", "script"))
+                && driver instanceof JavascriptExecutor
+                && steps.stream().allMatch(step -> step.selector != null);
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION);
+             TraceSpan span = Tracer.startSpan("action.batch")) {
+            span.setAttribute("steps", steps.size()).setAttribute("mode", scriptMode ? "script" : "sequential");
+            try {
+                int roundTrips = scriptMode ? executeAsScript() : executeSequentially();
+                // A step would otherwise cost at least a find and an action command
+                int saved = Math.max(0, steps.size() * 2 - roundTrips);
+                span.setAttribute("round.trips", roundTrips).setAttribute("round.trips.saved", saved);
+                LOGGER.debug("Ran {} batch steps in {} round trip(s), about {} saved", steps.size(), roundTrips, saved);
+            } catch (ActionBatchException e) {
+                span.setError(e.getMessage()).setAttribute("failed.step", e.getFailedStep());
+                steps.forEach(step -> step.result.completeExceptionally(e));
+                throw e;
+            }
+        }
+    }
+
+    private int executeAsScript() {
+        List<Map<String, Object>> script = new ArrayList<>();
+        for (Step step : steps) {
+            script.add(step.toScriptArgument());
+        }
+        int roundTrips = 0;
+        int from = 0;
+        int waitedStep = -1;
+        while (true) {
+            Map<?, ?> result;
+            try {
+                result = (Map<?, ?>) ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, script, from);
+                roundTrips++;
+            } catch (WebDriverException e) {
+                throw scriptFailure(from, e);
+            }
+            Map<?, ?> reads = (Map<?, ?>) result.get("reads");
+            int failed = ((Number) result.get("failed")).intValue();
+            int end = failed < 0 ? steps.size() : failed;
+            for (int i = from; i < end; i++) {
+                Step step = steps.get(i);
+                if ("read".equals(step.op)) {
+                    Object value = reads == null ? null : reads.get(String.valueOf(i));
+                    step.result.complete(value == null ? null : value.toString());
+                }
+            }
+            if (failed < 0) {
+                return roundTrips;
+            }
+            String reason = String.valueOf(result.get("reason"));
+            String message = String.valueOf(result.get("message"));
+            boolean waitable = "missing".equals(reason) || "hidden".equals(reason) || "disabled".equals(reason);
+            if (!waitable || failed == waitedStep) {
+                throw new ActionBatchException(failed, steps.get(failed).toString(), message, null);
+            }
+            // Wait once for the element the page is still rendering, then resume from its step
+            try {
+                Step step = steps.get(failed);
+                if ("click".equals(step.op) || "disabled".equals(reason)) {
+                    WaitUtil.waitForElementClickable(step.locator);
+                } else if ("read".equals(step.op)) {
+                    WaitUtil.waitForElementPresent(step.locator);
+                } else {
+                    WaitUtil.waitForElementVisible(step.locator);
+                }
+            } catch (WebDriverException e) {
+                throw new ActionBatchException(failed, steps.get(failed).toString(), message, e);
+            }
+            roundTrips++;
+            waitedStep = failed;
+            from = failed;
+        }
+    }
+
+    /**
+     * Failure of the batch script call itself, e.g. an alert or navigation while it ran.
+     * The step it was on is read back from the page; if the page no longer has it, only the first
+     * step of the call is known.
+     */
+    private ActionBatchException scriptFailure(int from, WebDriverException failure) {
+        Object progress = null;
+        try {
+            progress = ((JavascriptExecutor) driver).executeScript("return window." + PROGRESS_MARKER + ";");
+        } catch (WebDriverException e) {
+            failure.addSuppressed(e);
+        }
+        if (progress instanceof Number) {
+            int step = ((Number) progress).intValue();
+            if (step >= from && step < steps.size()) {
+                return new ActionBatchException(step, steps.get(step).toString(), "script failed", failure);
+            }
+        }
+        return new ActionBatchException(from, "unknown step, at or after " + steps.get(from), "script failed", failure);
+    }
+
+    private int executeSequentially() {
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            try {
+                WebElement element = WaitUtil.waitForElementPresent(step.locator);
+                switch (step.op) {
+                    case "fill":
+                        ElementUtil.sendKeys(element, step.text);
+                        break;
+                    case "click":
+                        ElementUtil.click(element);
+                        break;
+                    default:
+                        step.result.complete(step.attribute == null
+                                ? ElementUtil.getText(element) : element.getAttribute(step.attribute));
+                }
+            } catch (WebDriverException e) {
+                throw new ActionBatchException(i, step.toString(), e.getClass().getSimpleName(), e);
+            }
+        }
+        return steps.size() * 2;
+    }
+
+    /**
+     * One collected action. Locators that cannot be expressed as CSS or XPath have a null selector.
+     */
+    private static final class Step {
+        private final String op;
+        private final By locator;
+        private final String text;
+        private final String attribute;
+        private final By.Remotable.Parameters selector;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+
+        private Step(String op, By locator, String text, String attribute) {
+            this.op = op;
+            this.locator = locator;
+            this.text = text;
+            this.attribute = attribute;
+            this.selector = toSelector(locator);
+        }
+
+        private static By.Remotable.Parameters toSelector(By locator) {
+            if (!(locator instanceof By.Remotable)) {
+                return null;
+            }
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            if (!(parameters.value() instanceof String)) {
+                return null;
+            }
+            String value = (String) parameters.value();
+            switch (parameters.using()) {
+                case "id":
+                    return new By.Remotable.Parameters("css selector", "#" + cssEscape(value));
+                case "name":
+                    return new By.Remotable.Parameters("css selector", "*[name='" + value.replace("'", "\\'") + "']");
+                case "class name":
+                    return new By.Remotable.Parameters("css selector", "." + cssEscape(value));
+                default:
+                    return SCRIPT_LOCATORS.contains(parameters.using()) ? parameters : null;
+            }
+        }
+
+        private static String cssEscape(String identifier) {
+            StringBuilder escaped = new StringBuilder();
+            for (int i = 0; i < identifier.length(); i++) {
+                char c = identifier.charAt(i);
+                if (Character.isLetter(c) || c == '_' || c >= 0x80 || (i > 0 && (Character.isDigit(c) || c == '-'))) {
+                    escaped.append(c);
+                } else {
+                    // Hex escape with a trailing space, valid for any code point in CSS
+                    escaped.append('\\').append(Integer.toHexString(c)).append(' ');
+                }
+            }
+            return escaped.toString();
+        }
+
+        private Map<String, Object> toScriptArgument() {
+            Map<String, Object> argument = new HashMap<>();
+            argument.put("op", op);
+            argument.put("using", selector.using());
+            argument.put("value", selector.value());
+            argument.put("text", text);
+            argument.put("attribute", attribute);
+            return argument;
+        }
+
+        @Override
+        public String toString() {
+            return op + " " + locator;
+        }
+    }
+}
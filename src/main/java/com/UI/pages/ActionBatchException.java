@@ -0,0 +1,36 @@
+package com.UI.pages;
+
+/**
+ * Thrown when a step of an {@link ActionBatch} fails. Steps before the failed one have been
+ * applied to the page and are not rolled back; later steps have not run.
+ */
+public class ActionBatchException extends RuntimeException {
+    private final int failedStep;
+    private final String stepDescription;
+
+    /**
+     * Constructor for ActionBatchException
+     * @param failedStep Zero-based index of the failed step, which is also the number of completed steps;
+     *                   the earliest possible step when the batch script failed at an unknown step
+     * @param stepDescription Description of the failed step, e.g. "click By.id: submit"
+     * @param message Reason for the failure
+     * @param cause Underlying exception, or null
+     */
+    public ActionBatchException(int failedStep, String stepDescription, String message, Throwable cause) {
+        super(String.format("Batch step %d (%s) failed: %s", failedStep + 1, stepDescription, message), cause);
+        this.failedStep = failedStep;
+        this.stepDescription = stepDescription;
+    }
+
+    public int getFailedStep() {
+        return failedStep;
+    }
+
+    public int getCompletedSteps() {
+        return failedStep;
+    }
+
+    public String getStepDescription() {
+        return stepDescription;
+    }
+}
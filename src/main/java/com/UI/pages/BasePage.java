@@ -2,14 +2,20 @@ package com.UI.pages;
 
 import com.UI.config.ConfigManager;
 import com.UI.drivers.DriverManager;
+import com.UI.metrics.Phase;
+import com.UI.metrics.PhaseTimer;
+import com.UI.tracing.TraceSpan;
+import com.UI.tracing.Tracer;
 import com.UI.utils.ElementUtil;
 import com.UI.utils.LoggerUtil;
+import com.UI.utils.ReadyConditions;
 import com.UI.utils.WaitUtil;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
 import java.util.List;
@@ -48,15 +54,51 @@ public abstract class BasePage {
     }
 
     /**
-     * Navigate to URL
+     * Navigate to URL and wait until the page is ready
      * @param url URL to navigate to
      */
     public void navigateTo(String url) {
-        driver.get(url);
-        WaitUtil.waitForPageLoad();
+        boolean noWait = "none".equalsIgnoreCase(CONFIG_MANAGER.getProperty("page.load.strategy", "normal"));
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.NAVIGATION);
+             TraceSpan span = Tracer.startSpan("navigate")) {
+            ExpectedCondition<Boolean> ready = readyCondition();
+            span.setAttribute("url", url).setAttribute("page", getClass().getSimpleName())
+                    .setAttribute("ready.condition", ready.toString());
+            if (noWait) {
+                // driver.get may return before the old document is replaced
+                ReadyConditions.markDocument(driver);
+                ready = ExpectedConditions.and(ReadyConditions.navigatedAway(), ready);
+            }
+            driver.get(url);
+            WaitUtil.waitForReady(ready);
+        }
         LOGGER.info("Navigated to URL: {}", url);
     }
 
+    /**
+     * Wait until the page is ready, e.g. after an action that navigates to it
+     */
+    public void waitUntilReady() {
+        WaitUtil.waitForReady(readyCondition());
+    }
+
+    /**
+     * Condition under which the page is usable. Override with a key element, network idle or a
+     * framework hook from {@link ReadyConditions}; the default follows page.ready.default
+     * (complete, interactive or network-idle).
+     * @return Ready condition
+     */
+    protected ExpectedCondition<Boolean> readyCondition() {
+        switch (CONFIG_MANAGER.getProperty("page.ready.default", "complete").toLowerCase()) {
+            case "interactive":
+                return ReadyConditions.domInteractive();
+            case "network-idle":
+                return ReadyConditions.networkIdle();
+            default:
+                return ReadyConditions.documentComplete();
+        }
+    }
+
     /**
      * Navigate to base URL
      */
@@ -64,6 +106,15 @@ public abstract class BasePage {
         navigateTo(BASE_URL);
     }
 
+    /**
+     * Start a batch of fill, click and read steps that run with as few round trips as possible,
+     * e.g. batch().fill(user, name).fill(pass, secret).click(submit).execute()
+     * @return New action batch
+     */
+    protected ActionBatch batch() {
+        return new ActionBatch(driver);
+    }
+
     /**
      * Find element by locator
      * @param locator By locator
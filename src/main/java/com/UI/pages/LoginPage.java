@@ -1,6 +1,13 @@
 package com.UI.pages;
 
+import com.UI.auth.AuthStateCache;
+import com.UI.utils.ElementUtil;
+import com.UI.utils.ReadyConditions;
+import com.UI.utils.WaitUtil;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class LoginPage extends BasePage {
     public LoginPage() {
@@ -9,6 +16,14 @@ public class LoginPage extends BasePage {
     public By username= By.id("email");
     public By pwd= By.id("pass");
     public By submit= By.xpath("//button[@name='login']");
+
+    /**
+     * Ready once the login form can be used, without waiting for images and third-party scripts
+     */
+    @Override
+    protected ExpectedCondition<Boolean> readyCondition() {
+        return ExpectedConditions.and(ReadyConditions.elementVisible(username), ReadyConditions.elementVisible(submit));
+    }
     /**
      * Click submit Link
      */
@@ -34,6 +49,58 @@ public class LoginPage extends BasePage {
         LOGGER.info("Sent Value to User name field");
     }
 
+    /**
+     * Log in as a user for tests that need an authenticated session but do not test login itself.
+     * Reuses the state cached by an earlier login of the same user; only the first login per
+     * user drives the login form.
+     * @param userName User name
+     * @param password Password
+     * @return true if cached state was reused
+     */
+    public boolean loginAs(String userName, String password) {
+        return AuthStateCache.login(driver, userName, () -> {
+            navigateToLoginPage();
+            batch().fill(username, userName).fill(pwd, password).click(submit).execute();
+            LOGGER.info("Submitted login form for {}", userName);
+        }, loggedInDriver -> isLoggedIn(), restoredDriver -> isLoginFormGone());
+    }
+
+    /**
+     * Check for the session cookie named by auth.session.cookie, waiting up to auth.login.check.seconds
+     * for it to be set; without a configured cookie, checks that the login form is gone
+     * @return true if the browser is logged in
+     */
+    public boolean isLoggedIn() {
+        String sessionCookie = CONFIG_MANAGER.getProperty("auth.session.cookie", "");
+        int timeout = Integer.parseInt(CONFIG_MANAGER.getProperty("auth.login.check.seconds", "10"));
+        try {
+            if (sessionCookie.isEmpty()) {
+                WaitUtil.getWait(timeout).until(ExpectedConditions.invisibilityOfElementLocated(username));
+            } else {
+                WaitUtil.getWait(timeout).until(webDriver -> webDriver.manage().getCookieNamed(sessionCookie) != null);
+            }
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Check what the server rendered: once base.url has loaded, the login form is not shown.
+     * Used after restoring cached state, where the session cookie is present whether or not the
+     * server still accepts it.
+     * @return true if the page loaded without the login form
+     */
+    public boolean isLoginFormGone() {
+        int timeout = Integer.parseInt(CONFIG_MANAGER.getProperty("auth.login.check.seconds", "10"));
+        try {
+            WaitUtil.getWait(timeout).until(ReadyConditions.documentComplete());
+        } catch (TimeoutException e) {
+            return false;
+        }
+        return driver.findElements(username).stream().noneMatch(ElementUtil::isDisplayed);
+    }
+
     /**
      * Navigate to Login page
      */
@@ -3,16 +3,16 @@ package com.UI.reports;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.UI.context.TestContext;
 import com.UI.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
 
 import static com.UI.constants.FrameworkConstants.REPORT_DIRECTORY;
 
@@ -22,8 +22,6 @@ import static com.UI.constants.FrameworkConstants.REPORT_DIRECTORY;
 public class ExtentReportManager {
     private static final Logger LOGGER = LoggerUtil.getLogger(ExtentReportManager.class);
     private static ExtentReports extentReports;
-    private static final Map<Long, ExtentTest> TEST_MAP = new HashMap<>();
-    private static final ThreadLocal<ExtentTest> EXTENT_TEST_THREAD_LOCAL = new ThreadLocal<>();
 
     private ExtentReportManager() {
         // Private constructor to prevent instantiation
@@ -56,22 +54,21 @@ public class ExtentReportManager {
 
     public static synchronized ExtentTest createTest(String testName) {
         ExtentTest test = initReports().createTest(testName);
-        TEST_MAP.put(Thread.currentThread().getId(), test);
-        EXTENT_TEST_THREAD_LOCAL.set(test);
+        TestContext.require().setExtentTest(test);
         LOGGER.debug("Created test in ExtentReports: {}", testName);
         return test;
     }
 
     public static synchronized ExtentTest createTest(String testName, String description) {
         ExtentTest test = initReports().createTest(testName, description);
-        TEST_MAP.put(Thread.currentThread().getId(), test);
-        EXTENT_TEST_THREAD_LOCAL.set(test);
+        TestContext.require().setExtentTest(test);
         LOGGER.debug("Created test in ExtentReports: {} - {}", testName, description);
         return test;
     }
 
-    public static synchronized ExtentTest getTest() {
-        return EXTENT_TEST_THREAD_LOCAL.get();
+    public static ExtentTest getTest() {
+        TestContext context = TestContext.current();
+        return context == null ? null : context.getExtentTest();
     }
 
     public static synchronized void flushReports() {
@@ -95,7 +92,16 @@ public class ExtentReportManager {
         }
     }
 
-    public static void clearThreadLocal() {
-        EXTENT_TEST_THREAD_LOCAL.remove();
+    /**
+     * Add a suite-level summary table as its own report entry
+     * @param title Entry title
+     * @param rows Table rows, first row is the header
+     */
+    public static synchronized void addSummaryTable(String title, String[][] rows) {
+        if (rows == null || rows.length <= 1) {
+            return;
+        }
+        ExtentTest summary = initReports().createTest(title);
+        summary.info(MarkupHelper.createTable(rows));
     }
 }
\ No newline at end of file
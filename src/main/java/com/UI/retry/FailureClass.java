@@ -0,0 +1,15 @@
+package com.UI.retry;
+
+/**
+ * How a failure should be handled by the {@link RetryEngine}
+ */
+public enum FailureClass {
+    /** Infrastructure hiccup: Grid 5xx, connection reset or refused, session not created */
+    TRANSIENT,
+    /** The element was re-rendered; retry after locating it again */
+    STALE,
+    /** Another element received the click; retry with a JavaScript click */
+    INTERCEPTED,
+    /** Test or application problem; never retried */
+    FATAL
+}
@@ -0,0 +1,81 @@
+package com.UI.retry;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.util.regex.Pattern;
+
+/**
+ * Maps exceptions to a {@link FailureClass} by looking through the cause chain
+ */
+public class FailureClassifier {
+    // Gateway errors and dropped connections reported inside a WebDriverException message
+    private static final Pattern TRANSIENT_MESSAGE = Pattern.compile(
+            "Response code (502|503|504)|Bad Gateway|Service Unavailable|Gateway Time-?out"
+                    + "|Connection reset|Connection refused|Broken pipe|connection was closed",
+            Pattern.CASE_INSENSITIVE);
+    // Session creation failures that will fail the same way on every attempt
+    private static final Pattern PERMANENT_SESSION_FAILURE = Pattern.compile(
+            "only supports \\w+ version|invalid argument|cannot find .* binary|unrecognized capabilit",
+            Pattern.CASE_INSENSITIVE);
+
+    private FailureClassifier() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Classify a failure. I/O errors and timeouts are transient only below a WebDriverException,
+     * where they come from the connection to the browser or Grid; test data and file errors are not.
+     * @param failure Exception thrown by a driver command or session creation
+     * @return Failure class; FATAL when nothing in the cause chain is recognized
+     */
+    public static FailureClass classify(Throwable failure) {
+        boolean fromDriver = false;
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StaleElementReferenceException) {
+                return FailureClass.STALE;
+            }
+            if (cause instanceof ElementClickInterceptedException) {
+                return FailureClass.INTERCEPTED;
+            }
+            if (cause instanceof NoSuchSessionException) {
+                // The browser is gone; repeating the command cannot help
+                return FailureClass.FATAL;
+            }
+            if (cause instanceof SessionNotCreatedException) {
+                return PERMANENT_SESSION_FAILURE.matcher(String.valueOf(cause.getMessage())).find()
+                        ? FailureClass.FATAL : FailureClass.TRANSIENT;
+            }
+            if (cause instanceof MalformedURLException) {
+                return FailureClass.FATAL;
+            }
+            if (cause instanceof UnreachableBrowserException) {
+                return FailureClass.TRANSIENT;
+            }
+            if (fromDriver && (cause instanceof IOException || cause instanceof UncheckedIOException
+                    || cause instanceof java.util.concurrent.TimeoutException)) {
+                return FailureClass.TRANSIENT;
+            }
+            if (cause instanceof WebDriverException) {
+                if (cause.getMessage() != null && TRANSIENT_MESSAGE.matcher(firstLine(cause.getMessage())).find()) {
+                    return FailureClass.TRANSIENT;
+                }
+                fromDriver = true;
+            }
+        }
+        return FailureClass.FATAL;
+    }
+
+    private static String firstLine(String message) {
+        // WebDriverException appends build and system info that must not be matched
+        int end = message.indexOf("\nBuild info");
+        return end < 0 ? message : message.substring(0, end);
+    }
+}
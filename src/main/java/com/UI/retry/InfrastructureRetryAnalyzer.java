@@ -0,0 +1,168 @@
+package com.UI.retry;
+
+import com.UI.config.ConfigManager;
+import com.UI.reports.ExtentReportManager;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reruns a test invocation, with the same data row, when it failed with a transient
+ * (infrastructure) failure such as a Grid 5xx or a dropped connection. The rerun happens right
+ * away in the same JVM, so test data, the shared HTTP client, a shared browser and cached
+ * logins are reused; only the session is replaced, since the failed one is in an unknown state.
+ * There is no delay before the rerun: it would hold the TestNG worker, and session creation
+ * already backs off per retry.session.*.
+ * Reruns are bounded per invocation (rerun.max.per.test) and per suite (rerun.max.suite).
+ */
+public class InfrastructureRetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger LOGGER = LoggerUtil.getLogger(InfrastructureRetryAnalyzer.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final String RERUN_ATTRIBUTE = "rerun.attempt";
+
+    private static final Map<String, Rerun> RERUNS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SUITE_RERUNS = new AtomicInteger();
+
+    /**
+     * Check whether infrastructure failures are rerun
+     * @return true if rerun.enabled is set
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(CONFIG_MANAGER.getProperty("rerun.enabled", "true"));
+    }
+
+    @Override
+    public boolean retry(ITestResult result) {
+        if (!isEnabled() || FailureClassifier.classify(result.getThrowable()) != FailureClass.TRANSIENT) {
+            return false;
+        }
+        int maxPerTest = Integer.parseInt(CONFIG_MANAGER.getProperty("rerun.max.per.test", "1"));
+        int maxSuite = Integer.parseInt(CONFIG_MANAGER.getProperty("rerun.max.suite", "10"));
+        String key = toKey(result);
+        Rerun previous = RERUNS.get(key);
+        if ((previous == null ? 0 : previous.attempts.get()) >= maxPerTest) {
+            return false;
+        }
+        if (SUITE_RERUNS.incrementAndGet() > maxSuite) {
+            SUITE_RERUNS.decrementAndGet();
+            LOGGER.warn("Not rerunning {}: suite rerun budget of {} used up", result.getName(), maxSuite);
+            return false;
+        }
+        Rerun rerun = RERUNS.computeIfAbsent(key, test -> new Rerun(test, summarize(result.getThrowable())));
+        int attempt = rerun.attempts.incrementAndGet();
+        rerun.pending = true;
+        LOGGER.warn("Rerunning {} after infrastructure failure ({}/{}): {}",
+                rerun.test, attempt, maxPerTest, summarize(result.getThrowable()));
+        return true;
+    }
+
+    /**
+     * Record on a starting invocation whether it is a rerun
+     * @param result TestNG result of the starting invocation
+     * @return Rerun number, or 0 for a first run
+     */
+    public static int beginAttempt(ITestResult result) {
+        Rerun rerun = RERUNS.get(toKey(result));
+        // Later invocations of the same method and data row (invocationCount) are not reruns
+        if (rerun == null || !rerun.pending) {
+            return 0;
+        }
+        rerun.pending = false;
+        result.setAttribute(RERUN_ATTRIBUTE, rerun.attempts.get());
+        return rerun.attempts.get();
+    }
+
+    /**
+     * Get the rerun number of an invocation
+     * @param result TestNG result
+     * @return Rerun number, or 0 for a first run
+     */
+    public static int getAttempt(ITestResult result) {
+        Object attempt = result.getAttribute(RERUN_ATTRIBUTE);
+        return attempt instanceof Integer ? (Integer) attempt : 0;
+    }
+
+    /**
+     * Get the failure that caused an invocation to be rerun
+     * @param result TestNG result
+     * @return First line of the original failure, or null if it was not rerun
+     */
+    public static String getOriginalFailure(ITestResult result) {
+        Rerun rerun = RERUNS.get(toKey(result));
+        return rerun == null ? null : rerun.failure;
+    }
+
+    /**
+     * Record the outcome of a rerun
+     * @param result TestNG result of the rerun
+     */
+    public static void finishAttempt(ITestResult result) {
+        Rerun rerun = RERUNS.get(toKey(result));
+        if (rerun != null && getAttempt(result) > 0) {
+            rerun.passed = result.getStatus() == ITestResult.SUCCESS;
+        }
+    }
+
+    /**
+     * Log reruns and add a summary table to the Extent report
+     */
+    public static void exportResults() {
+        if (RERUNS.isEmpty()) {
+            return;
+        }
+        List<Rerun> reruns = new ArrayList<>(RERUNS.values());
+        reruns.sort((a, b) -> a.test.compareTo(b.test));
+        String[][] table = new String[reruns.size() + 1][];
+        table[0] = new String[]{"Test", "Reruns", "Result", "Infrastructure failure"};
+        int row = 1;
+        long passed = 0;
+        for (Rerun rerun : reruns) {
+            passed += rerun.passed ? 1 : 0;
+            table[row++] = new String[]{rerun.test, String.valueOf(rerun.attempts.get()),
+                    rerun.passed ? "passed on rerun" : "failed", rerun.failure};
+        }
+        LOGGER.info("Reran {} test invocation(s) after infrastructure failures; {} passed on rerun",
+                reruns.size(), passed);
+        ExtentReportManager.addSummaryTable("Infrastructure Reruns", table);
+    }
+
+    private static String toKey(ITestResult result) {
+        // The same method with the same data row
+        Object[] parameters = result.getParameters();
+        return result.getMethod().getQualifiedName()
+                + (parameters == null || parameters.length == 0 ? "" : Arrays.deepToString(parameters));
+    }
+
+    private static String summarize(Throwable failure) {
+        if (failure == null) {
+            return "";
+        }
+        String message = failure.getMessage() == null ? failure.getClass().getSimpleName() : failure.getMessage();
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    /**
+     * Rerun state of one test invocation
+     */
+    private static final class Rerun {
+        private final String test;
+        private final String failure;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile boolean pending;
+        private volatile boolean passed;
+
+        private Rerun(String test, String failure) {
+            this.test = test;
+            this.failure = failure;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.UI.retry;
+
+import com.UI.context.TestContext;
+import com.UI.reports.ExtentReportManager;
+import com.UI.utils.Backoff;
+import com.UI.utils.LoggerUtil;
+import com.aventstack.extentreports.ExtentTest;
+import org.apache.logging.log4j.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runs an operation and retries it according to the class of each failure and a {@link RetryPolicy}.
+ * The operation sees the previous failures through {@link Attempt}, so it can locate a stale
+ * element again or switch to a JavaScript click. Retries are counted per test and reported when
+ * the test context closes, and totalled for the suite.
+ */
+public class RetryEngine {
+    private static final Logger LOGGER = LoggerUtil.getLogger(RetryEngine.class);
+    private static final TestContext.Key<RetryStats> STATS = TestContext.Key.of("retry.stats");
+    private static final FailureClass[] CLASSES = FailureClass.values();
+    private static final AtomicLongArray SUITE_RETRIES = new AtomicLongArray(CLASSES.length);
+
+    private RetryEngine() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Operation run by the engine
+     * @param <T> Result type
+     */
+    @FunctionalInterface
+    public interface Action<T> {
+        T run(Attempt attempt);
+    }
+
+    /**
+     * Run an operation, retrying failures the policy has budget for
+     * @param operation Name used in logs and retry counts, e.g. "click"
+     * @param policy Retry policy
+     * @param action Operation to run
+     * @param <T> Result type
+     * @return Result of the first successful attempt
+     */
+    public static <T> T call(String operation, RetryPolicy policy, Action<T> action) {
+        Attempt attempt = new Attempt();
+        Map<FailureClass, Backoff> backoffs = new EnumMap<>(FailureClass.class);
+        while (true) {
+            try {
+                return action.run(attempt);
+            } catch (RuntimeException e) {
+                FailureClass failureClass = FailureClassifier.classify(e);
+                RetryPolicy.Budget budget = policy.getBudget(failureClass);
+                RetryStats stats = getStats();
+                if (budget == null || attempt.count(failureClass) >= budget.getMaxRetries()
+                        || (stats != null && stats.count(failureClass) >= budget.getPerTest())) {
+                    throw e;
+                }
+                attempt.record(failureClass);
+                SUITE_RETRIES.incrementAndGet(failureClass.ordinal());
+                if (stats != null) {
+                    stats.record(failureClass, operation);
+                }
+                LOGGER.warn("Retrying {} after {} failure ({}/{}): {}", operation, failureClass,
+                        attempt.count(failureClass), budget.getMaxRetries(), summarize(e));
+                Backoff backoff = backoffs.computeIfAbsent(failureClass,
+                        key -> new Backoff(budget.getInitialDelay(), budget.getMaxDelay()));
+                try {
+                    Thread.sleep(backoff.nextDelay().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the retries of the current test by failure class
+     * @return Retry counts; empty if none
+     */
+    public static Map<FailureClass, Integer> getTestRetries() {
+        TestContext context = TestContext.current();
+        RetryStats stats = context == null ? null : context.get(STATS);
+        return stats == null ? new EnumMap<>(FailureClass.class) : stats.byClass();
+    }
+
+    /**
+     * Log suite retry totals
+     */
+    public static void logMetrics() {
+        long total = 0;
+        StringBuilder counts = new StringBuilder();
+        for (FailureClass failureClass : CLASSES) {
+            long count = SUITE_RETRIES.get(failureClass.ordinal());
+            total += count;
+            if (count > 0) {
+                counts.append(counts.length() == 0 ? "" : ", ").append(failureClass).append('=').append(count);
+            }
+        }
+        if (total > 0) {
+            LOGGER.info("Retries in suite: {} ({})", total, counts);
+        }
+    }
+
+    private static RetryStats getStats() {
+        TestContext context = TestContext.current();
+        if (context == null || context.isClosed()) {
+            return null;
+        }
+        return context.computeIfAbsent(STATS, () -> {
+            context.onClose(RetryEngine::reportTest);
+            return new RetryStats();
+        });
+    }
+
+    private static void reportTest() {
+        TestContext context = TestContext.current();
+        RetryStats stats = context == null ? null : context.get(STATS);
+        if (stats == null || stats.isEmpty()) {
+            return;
+        }
+        String text = "Retries: " + stats;
+        LOGGER.info("{} in {}", text, context.getTestId());
+        ExtentTest test = ExtentReportManager.getTest();
+        if (test != null) {
+            test.info(text);
+        }
+    }
+
+    private static String summarize(Throwable failure) {
+        String message = failure.getMessage() == null ? failure.getClass().getSimpleName() : failure.getMessage();
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    /**
+     * Failures seen by one call of the engine so far
+     */
+    public static final class Attempt {
+        private final int[] counts = new int[CLASSES.length];
+        private int number;
+        private FailureClass lastFailure;
+
+        private void record(FailureClass failureClass) {
+            counts[failureClass.ordinal()]++;
+            number++;
+            lastFailure = failureClass;
+        }
+
+        private int count(FailureClass failureClass) {
+            return counts[failureClass.ordinal()];
+        }
+
+        /**
+         * Get the attempt number
+         * @return 0 for the first attempt
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * Get the class of the failure that caused this attempt
+         * @return Failure class, or null on the first attempt
+         */
+        public FailureClass getLastFailure() {
+            return lastFailure;
+        }
+
+        /**
+         * Check whether an earlier attempt failed with the given class
+         * @param failureClass Failure class
+         * @return true if it occurred
+         */
+        public boolean hasFailed(FailureClass failureClass) {
+            return counts[failureClass.ordinal()] > 0;
+        }
+    }
+
+    /**
+     * Retry counts of one test by failure class and operation
+     */
+    private static final class RetryStats {
+        private final Map<FailureClass, Integer> byClass = new EnumMap<>(FailureClass.class);
+        private final Map<String, Integer> byOperation = new TreeMap<>();
+
+        synchronized void record(FailureClass failureClass, String operation) {
+            byClass.merge(failureClass, 1, Integer::sum);
+            byOperation.merge(failureClass.name().toLowerCase() + " " + operation, 1, Integer::sum);
+        }
+
+        synchronized int count(FailureClass failureClass) {
+            return byClass.getOrDefault(failureClass, 0);
+        }
+
+        synchronized Map<FailureClass, Integer> byClass() {
+            return new EnumMap<>(byClass);
+        }
+
+        synchronized boolean isEmpty() {
+            return byClass.isEmpty();
+        }
+
+        @Override
+        public synchronized String toString() {
+            return byOperation.toString();
+        }
+    }
+}
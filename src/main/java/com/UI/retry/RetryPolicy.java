@@ -0,0 +1,140 @@
+package com.UI.retry;
+
+import com.UI.config.ConfigManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Retry budgets per {@link FailureClass}. Each budget limits retries of one operation and the
+ * retries of that class in one test, so a failing Grid cannot make every command of a test
+ * wait out its backoff.
+ */
+public final class RetryPolicy {
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    // Retries of the ElementUtil methods before the retry engine existed
+    private static final Budget LEGACY_ELEMENT_RETRY = new Budget(1, Integer.MAX_VALUE, Duration.ofMillis(1));
+
+    private static RetryPolicy commands;
+    private static RetryPolicy sessions;
+
+    private final Map<FailureClass, Budget> budgets;
+
+    private RetryPolicy(Map<FailureClass, Budget> budgets) {
+        this.budgets = budgets;
+    }
+
+    /**
+     * Check whether the retry engine is enabled
+     * @return true if retry.enabled is set
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(CONFIG_MANAGER.getProperty("retry.enabled", "true"));
+    }
+
+    /**
+     * Policy for WebDriver commands, from retry.transient.*, retry.stale.* and retry.intercepted.*.
+     * When the engine is disabled, stale and intercepted failures are retried once and nothing else.
+     * @return Command policy
+     */
+    public static synchronized RetryPolicy forCommands() {
+        if (commands == null) {
+            Map<FailureClass, Budget> budgets = new EnumMap<>(FailureClass.class);
+            if (isEnabled()) {
+                budgets.put(FailureClass.TRANSIENT, fromConfig("transient", 2, 6, 500));
+                budgets.put(FailureClass.STALE, fromConfig("stale", 2, 20, 100));
+                budgets.put(FailureClass.INTERCEPTED, fromConfig("intercepted", 1, 20, 200));
+            } else {
+                budgets.put(FailureClass.STALE, LEGACY_ELEMENT_RETRY);
+                budgets.put(FailureClass.INTERCEPTED, LEGACY_ELEMENT_RETRY);
+            }
+            commands = new RetryPolicy(budgets);
+        }
+        return commands;
+    }
+
+    /**
+     * Policy for session creation; only transient failures are retried, per retry.session.*
+     * @return Session policy
+     */
+    public static synchronized RetryPolicy forSessions() {
+        if (sessions == null) {
+            Map<FailureClass, Budget> budgets = new EnumMap<>(FailureClass.class);
+            if (isEnabled()) {
+                budgets.put(FailureClass.TRANSIENT, fromConfig("session", 2, 2, 3000));
+            }
+            sessions = new RetryPolicy(budgets);
+        }
+        return sessions;
+    }
+
+    /**
+     * Copy of this policy that retries only the given classes
+     * @param failureClasses Classes to keep
+     * @return Restricted policy
+     */
+    public RetryPolicy only(FailureClass... failureClasses) {
+        Map<FailureClass, Budget> restricted = new EnumMap<>(FailureClass.class);
+        for (FailureClass failureClass : failureClasses) {
+            if (budgets.containsKey(failureClass)) {
+                restricted.put(failureClass, budgets.get(failureClass));
+            }
+        }
+        return new RetryPolicy(restricted);
+    }
+
+    /**
+     * Get the budget for a failure class
+     * @param failureClass Failure class
+     * @return Budget, or null if the class is not retried
+     */
+    public Budget getBudget(FailureClass failureClass) {
+        return budgets.get(failureClass);
+    }
+
+    private static Budget fromConfig(String name, int maxRetries, int perTest, int delayMillis) {
+        String prefix = "retry." + name + ".";
+        return new Budget(
+                Integer.parseInt(CONFIG_MANAGER.getProperty(prefix + "max", String.valueOf(maxRetries))),
+                Integer.parseInt(CONFIG_MANAGER.getProperty(prefix + "per.test", String.valueOf(perTest))),
+                Duration.ofMillis(Long.parseLong(CONFIG_MANAGER.getProperty(prefix + "delay.millis", String.valueOf(delayMillis)))));
+    }
+
+    /**
+     * Retry limits and first backoff delay for one failure class; delays double up to 8x the first
+     */
+    public static final class Budget {
+        private final int maxRetries;
+        private final int perTest;
+        private final Duration initialDelay;
+
+        /**
+         * Constructor for Budget
+         * @param maxRetries Retries of one operation
+         * @param perTest Retries of this class in one test
+         * @param initialDelay Delay before the first retry
+         */
+        public Budget(int maxRetries, int perTest, Duration initialDelay) {
+            this.maxRetries = Math.max(0, maxRetries);
+            this.perTest = Math.max(0, perTest);
+            this.initialDelay = initialDelay;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public int getPerTest() {
+            return perTest;
+        }
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return initialDelay.multipliedBy(8);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.UI.retry;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Retries transient failures of read-only driver and element commands (get*, is*, find*),
+ * which can safely be sent again. Commands that change the page are never repeated here,
+ * since the failed attempt may already have reached the browser.
+ */
+public class RetryingDriverDecorator extends WebDriverDecorator<WebDriver> {
+    private final RetryPolicy policy = RetryPolicy.forCommands().only(FailureClass.TRANSIENT);
+
+    @Override
+    public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+        if (!isReadOnly(method)) {
+            return super.call(target, method, args);
+        }
+        try {
+            return RetryEngine.call(method.getName(), policy, attempt -> invoke(target, method, args));
+        } catch (CommandFailure e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private Object invoke(Decorated<?> target, Method method, Object[] args) {
+        try {
+            return super.call(target, method, args);
+        } catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof RuntimeException) {
+                throw (RuntimeException) e.getTargetException();
+            }
+            throw new CommandFailure(e);
+        } catch (Throwable e) {
+            throw new CommandFailure(e);
+        }
+    }
+
+    private static boolean isReadOnly(Method method) {
+        String name = method.getName();
+        // WebDriver.get navigates
+        return (name.startsWith("get") && !"get".equals(name)) || name.startsWith("is") || name.startsWith("find");
+    }
+
+    /**
+     * Carries a checked exception or error through the retry engine unchanged
+     */
+    private static final class CommandFailure extends RuntimeException {
+        private CommandFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
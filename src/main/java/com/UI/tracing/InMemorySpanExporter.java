@@ -0,0 +1,38 @@
+package com.UI.tracing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps exported spans in memory; stands in for a collector when inspecting traces in-process
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    private final ConcurrentLinkedQueue<TraceSpan> spans = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void export(Collection<TraceSpan> finished) {
+        spans.addAll(finished);
+    }
+
+    @Override
+    public void shutdown() {
+        // Nothing to release
+    }
+
+    /**
+     * Get all spans exported so far
+     * @return Snapshot of exported spans
+     */
+    public List<TraceSpan> getFinishedSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * Remove all exported spans
+     */
+    public void reset() {
+        spans.clear();
+    }
+}
@@ -0,0 +1,133 @@
+package com.UI.tracing;
+
+import com.UI.utils.LoggerUtil;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Writes spans as OTLP/JSON (ExportTraceServiceRequest) documents, one per line,
+ * in the layout accepted by the OpenTelemetry Collector file receiver
+ */
+public class OtlpJsonFileExporter implements SpanExporter {
+    private static final Logger LOGGER = LoggerUtil.getLogger(OtlpJsonFileExporter.class);
+    private static final String SCOPE_NAME = "com.UI.tracing";
+
+    private final JsonGenerator generator;
+    private final Map<String, Object> resourceAttributes;
+    private final String filePath;
+
+    /**
+     * Constructor for OtlpJsonFileExporter
+     * @param filePath Output file
+     * @param resourceAttributes Attributes describing the test run
+     */
+    public OtlpJsonFileExporter(String filePath, Map<String, Object> resourceAttributes) {
+        this.filePath = filePath;
+        this.resourceAttributes = resourceAttributes;
+        try {
+            File file = new File(filePath);
+            file.getParentFile().mkdirs();
+            this.generator = new JsonFactory().createGenerator(file, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            LOGGER.error("Failed to open trace file: {}", filePath, e);
+            throw new RuntimeException("Failed to open trace file: " + filePath, e);
+        }
+    }
+
+    @Override
+    public synchronized void export(Collection<TraceSpan> spans) {
+        if (spans.isEmpty()) {
+            return;
+        }
+        try {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("resourceSpans");
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("resource");
+            writeAttributes(resourceAttributes);
+            generator.writeEndObject();
+            generator.writeArrayFieldStart("scopeSpans");
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("scope");
+            generator.writeStringField("name", SCOPE_NAME);
+            generator.writeEndObject();
+            generator.writeArrayFieldStart("spans");
+            for (TraceSpan span : spans) {
+                writeSpan(span);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.flush();
+        } catch (IOException e) {
+            LOGGER.error("Failed to write spans to: {}", filePath, e);
+        }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        try {
+            generator.close();
+            LOGGER.info("Trace spans written to: {}", filePath);
+        } catch (IOException e) {
+            LOGGER.error("Failed to close trace file: {}", filePath, e);
+        }
+    }
+
+    private void writeSpan(TraceSpan span) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("traceId", span.getTraceId());
+        generator.writeStringField("spanId", span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            generator.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        generator.writeStringField("name", span.getName());
+        // SPAN_KIND_INTERNAL
+        generator.writeNumberField("kind", 1);
+        generator.writeStringField("startTimeUnixNano", String.valueOf(span.getStartEpochNanos()));
+        generator.writeStringField("endTimeUnixNano", String.valueOf(span.getEndEpochNanos()));
+        writeAttributes(span.getAttributes());
+        generator.writeObjectFieldStart("status");
+        // STATUS_CODE_OK = 1, STATUS_CODE_ERROR = 2
+        generator.writeNumberField("code", span.isError() ? 2 : 1);
+        if (span.getStatusMessage() != null) {
+            generator.writeStringField("message", span.getStatusMessage());
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeAttributes(Map<String, Object> attributes) throws IOException {
+        generator.writeArrayFieldStart("attributes");
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            generator.writeStartObject();
+            generator.writeStringField("key", attribute.getKey());
+            generator.writeObjectFieldStart("value");
+            Object value = attribute.getValue();
+            if (value instanceof Boolean) {
+                generator.writeBooleanField("boolValue", (Boolean) value);
+            } else if (value instanceof Integer || value instanceof Long) {
+                generator.writeStringField("intValue", value.toString());
+            } else if (value instanceof Number) {
+                generator.writeNumberField("doubleValue", ((Number) value).doubleValue());
+            } else {
+                generator.writeStringField("stringValue", String.valueOf(value));
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
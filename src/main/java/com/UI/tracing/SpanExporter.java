@@ -0,0 +1,20 @@
+package com.UI.tracing;
+
+import java.util.Collection;
+
+/**
+ * Receives finished spans from the {@link Tracer}
+ */
+public interface SpanExporter {
+
+    /**
+     * Export finished spans
+     * @param spans Spans to export
+     */
+    void export(Collection<TraceSpan> spans);
+
+    /**
+     * Flush and release resources at suite end
+     */
+    void shutdown();
+}
@@ -0,0 +1,112 @@
+package com.UI.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single trace span, recorded in OpenTelemetry terms.
+ * Closing the span ends it through the {@link Tracer}.
+ */
+public class TraceSpan implements AutoCloseable {
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final long startEpochNanos;
+    private final boolean recording;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private volatile long endEpochNanos;
+    private volatile boolean error;
+    private volatile String statusMessage;
+
+    TraceSpan(String traceId, String spanId, String parentSpanId, String name, long startEpochNanos,
+              boolean recording) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startEpochNanos = startEpochNanos;
+        this.recording = recording;
+    }
+
+    /**
+     * Set an attribute on the span
+     * @param key Attribute key
+     * @param value String, Long, Double or Boolean value; null values are ignored
+     * @return This span
+     */
+    public TraceSpan setAttribute(String key, Object value) {
+        if (recording && value != null) {
+            synchronized (attributes) {
+                attributes.put(key, value);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Mark the span as failed
+     * @param message Status message
+     * @return This span
+     */
+    public TraceSpan setError(String message) {
+        if (!recording) {
+            return this;
+        }
+        this.error = true;
+        this.statusMessage = message;
+        return this;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    public Map<String, Object> getAttributes() {
+        synchronized (attributes) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        }
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    @Override
+    public void close() {
+        Tracer.endSpan(this);
+    }
+
+    void end(long endEpochNanos) {
+        this.endEpochNanos = endEpochNanos;
+    }
+}
@@ -0,0 +1,189 @@
+package com.UI.tracing;
+
+import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
+import com.UI.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.UI.constants.FrameworkConstants.REPORT_DIRECTORY;
+
+/**
+ * Minimal tracer that records nested spans per test context and exports each finished trace.
+ * A trace starts when a span is opened with no active parent, normally the test span.
+ * Spans are only recorded while a {@link TestContext} is bound.
+ */
+public class Tracer {
+    private static final Logger LOGGER = LoggerUtil.getLogger(Tracer.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final String TRACE_FILE = REPORT_DIRECTORY + File.separator + "traces.otlp.jsonl";
+    private static final boolean ENABLED = Boolean.parseBoolean(CONFIG_MANAGER.getProperty("tracing.enabled", "false"));
+
+    // Anchor epoch time to the monotonic clock so span durations are not affected by clock adjustments
+    private static final long EPOCH_NANOS_AT_START = System.currentTimeMillis() * 1_000_000L;
+    private static final long NANO_TIME_AT_START = System.nanoTime();
+
+    private static final TestContext.Key<TraceContext> TRACE = TestContext.Key.of("trace");
+    private static final TraceSpan NOOP_SPAN = new TraceSpan("", "", null, "noop", 0, false);
+    private static SpanExporter exporter;
+
+    private Tracer() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED || exporter != null;
+    }
+
+    /**
+     * Replace the exporter, e.g. with an {@link InMemorySpanExporter}
+     * @param spanExporter Exporter to use; enables tracing regardless of configuration
+     */
+    public static synchronized void setExporter(SpanExporter spanExporter) {
+        exporter = spanExporter;
+    }
+
+    /**
+     * Open a span as a child of the current span of the current test.
+     * An open trace is ended when the test context closes.
+     * @param name Span name
+     * @return Span; close it or pass it to {@link #endSpan(TraceSpan)} when done
+     */
+    public static TraceSpan startSpan(String name) {
+        TestContext testContext = TestContext.current();
+        if (!isEnabled() || testContext == null) {
+            return NOOP_SPAN;
+        }
+        TraceContext context = testContext.computeIfAbsent(TRACE, () -> {
+            testContext.onClose(Tracer::endTraceOnClose);
+            return new TraceContext();
+        });
+        TraceSpan parent = context.stack.peek();
+        String traceId = parent != null ? parent.getTraceId() : randomHex(16);
+        TraceSpan span = new TraceSpan(traceId, randomHex(8), parent != null ? parent.getSpanId() : null,
+                name, nowEpochNanos(), true);
+        context.stack.push(span);
+        return span;
+    }
+
+    /**
+     * Get the innermost open span of the current test
+     * @return Current span, or a no-op span if none is open
+     */
+    public static TraceSpan currentSpan() {
+        TraceContext context = isEnabled() ? getTraceContext() : null;
+        TraceSpan span = context != null ? context.stack.peek() : null;
+        return span != null ? span : NOOP_SPAN;
+    }
+
+    /**
+     * End a span and any children left open inside it.
+     * When the outermost span ends, the whole trace is exported.
+     * @param span Span returned by {@link #startSpan(String)}
+     */
+    public static void endSpan(TraceSpan span) {
+        if (!span.isRecording()) {
+            return;
+        }
+        TraceContext context = getTraceContext();
+        if (context == null || !context.stack.contains(span)) {
+            return;
+        }
+        long now = nowEpochNanos();
+        TraceSpan ended;
+        do {
+            ended = context.stack.pop();
+            ended.end(now);
+            context.finished.add(ended);
+        } while (ended != span);
+
+        if (context.stack.isEmpty()) {
+            List<TraceSpan> trace = context.finished;
+            context.finished = new ArrayList<>();
+            getExporter().export(trace);
+        }
+    }
+
+    /**
+     * End the outermost span of the current test, exporting the trace
+     * @param errorMessage Error status for the outermost span, or null if it succeeded
+     */
+    public static void endTrace(String errorMessage) {
+        TraceContext context = isEnabled() ? getTraceContext() : null;
+        if (context == null) {
+            return;
+        }
+        TraceSpan root = context.stack.peekLast();
+        if (root != null) {
+            if (errorMessage != null) {
+                root.setError(errorMessage);
+            }
+            endSpan(root);
+        }
+    }
+
+    /**
+     * Flush and close the exporter
+     */
+    public static synchronized void shutdown() {
+        if (exporter != null) {
+            exporter.shutdown();
+        }
+    }
+
+    private static TraceContext getTraceContext() {
+        TestContext testContext = TestContext.current();
+        return testContext == null ? null : testContext.get(TRACE);
+    }
+
+    /**
+     * Close-time cleanup: end any open trace with the test's failure as its status
+     */
+    private static void endTraceOnClose() {
+        TestContext testContext = TestContext.current();
+        Throwable failure = testContext == null ? null : testContext.getFailure();
+        endTrace(failure != null ? failure.toString() : null);
+    }
+
+    private static synchronized SpanExporter getExporter() {
+        if (exporter == null) {
+            if ("memory".equalsIgnoreCase(CONFIG_MANAGER.getProperty("tracing.exporter", "file"))) {
+                exporter = new InMemorySpanExporter();
+            } else {
+                Map<String, Object> resource = new LinkedHashMap<>();
+                resource.put("service.name", "SeleniumFinalProwess");
+                resource.put("browser", CONFIG_MANAGER.getProperty("browser", "chrome"));
+                resource.put("execution.mode", CONFIG_MANAGER.getProperty("execution.mode", "local"));
+                exporter = new OtlpJsonFileExporter(TRACE_FILE, resource);
+            }
+            LOGGER.info("Tracing enabled with exporter: {}", exporter.getClass().getSimpleName());
+        }
+        return exporter;
+    }
+
+    private static long nowEpochNanos() {
+        return EPOCH_NANOS_AT_START + (System.nanoTime() - NANO_TIME_AT_START);
+    }
+
+    private static String randomHex(int bytes) {
+        StringBuilder hex = new StringBuilder(bytes * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes; i++) {
+            hex.append(String.format("%02x", random.nextInt(256)));
+        }
+        return hex.toString();
+    }
+
+    private static final class TraceContext {
+        private final Deque<TraceSpan> stack = new ArrayDeque<>();
+        private List<TraceSpan> finished = new ArrayList<>();
+    }
+}
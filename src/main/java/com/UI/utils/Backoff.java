@@ -0,0 +1,64 @@
+package com.UI.utils;
+
+import java.time.Duration;
+
+/**
+ * Exponential backoff: each delay doubles, up to a maximum
+ */
+public class Backoff {
+    private final long initialMillis;
+    private final long maxMillis;
+    private long nextMillis;
+    private int attempts;
+
+    /**
+     * Constructor for Backoff
+     * @param initial First delay
+     * @param max Upper bound for any delay
+     */
+    public Backoff(Duration initial, Duration max) {
+        this.initialMillis = Math.max(1, initial.toMillis());
+        this.maxMillis = Math.max(initialMillis, max.toMillis());
+        this.nextMillis = initialMillis;
+    }
+
+    /**
+     * Get the next delay and advance the backoff
+     * @return Delay before the next attempt
+     */
+    public Duration nextDelay() {
+        long delay = nextMillis;
+        nextMillis = Math.min(maxMillis, nextMillis * 2);
+        attempts++;
+        return Duration.ofMillis(delay);
+    }
+
+    /**
+     * Sleep for the next delay, never past the deadline
+     * @param deadlineNanos Deadline as a System.nanoTime() value
+     * @throws InterruptedException If interrupted while sleeping
+     */
+    public void sleep(long deadlineNanos) throws InterruptedException {
+        long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000L;
+        long delay = Math.min(nextDelay().toMillis(), Math.max(0, remainingMillis));
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * Start again from the initial delay, e.g. after a success
+     */
+    public void reset() {
+        nextMillis = initialMillis;
+        attempts = 0;
+    }
+
+    /**
+     * Get number of delays handed out since the last reset
+     * @return Attempt count
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -1,6 +1,11 @@
 package com.UI.utils;
 
 import com.UI.drivers.DriverManager;
+import com.UI.metrics.Phase;
+import com.UI.metrics.PhaseTimer;
+import com.UI.retry.FailureClass;
+import com.UI.retry.RetryEngine;
+import com.UI.retry.RetryPolicy;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
@@ -12,6 +17,10 @@ import java.util.List;
 public class ElementUtil {
 
     private static final Logger LOGGER = LoggerUtil.getLogger(ElementUtil.class);
+    // Transient failures of read-only commands are retried by the driver decorator; an action
+    // is not repeated after one, since it may already have reached the browser
+    private static final RetryPolicy ELEMENT_RETRY = RetryPolicy.forCommands()
+            .only(FailureClass.STALE, FailureClass.INTERCEPTED);
 
     private ElementUtil() {
         // Private constructor to prevent instantiation
@@ -21,17 +30,21 @@ public class ElementUtil {
      * @param element WebElement to click
      */
     public static void click(WebElement element) {
-        try {
-            WaitUtil.waitForElementClickable(element).click();
+        ScreenshotUtil.clearFailureFocus();
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
+            RetryEngine.call("click", ELEMENT_RETRY, attempt -> {
+                WebElement target = resolve(element, attempt);
+                if (attempt.getLastFailure() == FailureClass.INTERCEPTED) {
+                    clickUsingJavaScript(target);
+                } else {
+                    WaitUtil.waitForElementClickable(target).click();
+                }
+                return null;
+            });
             LOGGER.debug("Clicked on element: {}", element);
-        } catch (StaleElementReferenceException e) {
-            LOGGER.warn("StaleElementReferenceException on click, retrying...");
-            WebElement refreshedElement = WaitUtil.waitForElementClickable(
-                    DriverManager.getDriver().findElement(getByFromElement(element)));
-            refreshedElement.click();
-        } catch (ElementClickInterceptedException e) {
-            LOGGER.warn("ElementClickInterceptedException, trying JavaScript click");
-            clickUsingJavaScript(element);
+        } catch (WebDriverException e) {
+            ScreenshotUtil.setFailureFocus(element);
+            throw e;
         }
     }
 
@@ -40,7 +53,7 @@ public class ElementUtil {
      * @param element WebElement to click
      */
     public static void clickUsingJavaScript(WebElement element) {
-        try {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
             js.executeScript("arguments[0].click();", WaitUtil.waitForElementVisible(element));
             LOGGER.debug("Clicked on element using JavaScript: {}", element);
@@ -56,17 +69,18 @@ public class ElementUtil {
      * @param text Text to type
      */
     public static void sendKeys(WebElement element, String text) {
-        try {
-            WebElement visibleElement = WaitUtil.waitForElementVisible(element);
-            visibleElement.clear();
-            visibleElement.sendKeys(text);
+        ScreenshotUtil.clearFailureFocus();
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
+            RetryEngine.call("sendKeys", ELEMENT_RETRY, attempt -> {
+                WebElement visibleElement = WaitUtil.waitForElementVisible(resolve(element, attempt));
+                visibleElement.clear();
+                visibleElement.sendKeys(text);
+                return null;
+            });
             LOGGER.debug("Entered text '{}' into element: {}", text, element);
-        } catch (StaleElementReferenceException e) {
-            LOGGER.warn("StaleElementReferenceException on sendKeys, retrying...");
-            WebElement refreshedElement = WaitUtil.waitForElementVisible(
-                    DriverManager.getDriver().findElement(getByFromElement(element)));
-            refreshedElement.clear();
-            refreshedElement.sendKeys(text);
+        } catch (WebDriverException e) {
+            ScreenshotUtil.setFailureFocus(element);
+            throw e;
         }
     }
 
@@ -76,7 +90,7 @@ public class ElementUtil {
      * @param text Text to type
      */
     public static void sendKeysUsingJavaScript(WebElement element, String text) {
-        try {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
             js.executeScript("arguments[0].value='';", element);
             js.executeScript("arguments[0].value=arguments[1];", element, text);
@@ -93,13 +107,13 @@ public class ElementUtil {
      * @return Text of element
      */
     public static String getText(WebElement element) {
-        try {
-            return WaitUtil.waitForElementVisible(element).getText();
-        } catch (StaleElementReferenceException e) {
-            LOGGER.warn("StaleElementReferenceException on getText, retrying...");
-            WebElement refreshedElement = WaitUtil.waitForElementVisible(
-                    DriverManager.getDriver().findElement(getByFromElement(element)));
-            return refreshedElement.getText();
+        ScreenshotUtil.clearFailureFocus();
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
+            return RetryEngine.call("getText", ELEMENT_RETRY,
+                    attempt -> WaitUtil.waitForElementVisible(resolve(element, attempt)).getText());
+        } catch (WebDriverException e) {
+            ScreenshotUtil.setFailureFocus(element);
+            throw e;
         }
     }
 
@@ -109,13 +123,13 @@ public class ElementUtil {
      * @return Value attribute of element
      */
     public static String getValue(WebElement element) {
-        try {
-            return WaitUtil.waitForElementVisible(element).getAttribute("value");
-        } catch (StaleElementReferenceException e) {
-            LOGGER.warn("StaleElementReferenceException on getValue, retrying...");
-            WebElement refreshedElement = WaitUtil.waitForElementVisible(
-                    DriverManager.getDriver().findElement(getByFromElement(element)));
-            return refreshedElement.getAttribute("value");
+        ScreenshotUtil.clearFailureFocus();
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
+            return RetryEngine.call("getValue", ELEMENT_RETRY,
+                    attempt -> WaitUtil.waitForElementVisible(resolve(element, attempt)).getAttribute("value"));
+        } catch (WebDriverException e) {
+            ScreenshotUtil.setFailureFocus(element);
+            throw e;
         }
     }
 
@@ -141,6 +155,8 @@ public class ElementUtil {
         try {
             return WaitUtil.waitForElementVisible(element).isEnabled();
         } catch (Exception e) {
+            // An answered check is not a failure; keep its wait from cropping a later failure screenshot
+            ScreenshotUtil.clearFailureFocus();
             return false;
         }
     }
@@ -154,6 +170,8 @@ public class ElementUtil {
         try {
             return WaitUtil.waitForElementVisible(element).isSelected();
         } catch (Exception e) {
+            // An answered check is not a failure; keep its wait from cropping a later failure screenshot
+            ScreenshotUtil.clearFailureFocus();
             return false;
         }
     }
@@ -164,7 +182,7 @@ public class ElementUtil {
      * @param visibleText Text to select
      */
     public static void selectByVisibleText(WebElement element, String visibleText) {
-        try {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
             Select select = new Select(WaitUtil.waitForElementVisible(element));
             select.selectByVisibleText(visibleText);
             LOGGER.debug("Selected option with text '{}' from dropdown", visibleText);
@@ -180,7 +198,7 @@ public class ElementUtil {
      * @param value Value to select
      */
     public static void selectByValue(WebElement element, String value) {
-        try {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
             Select select = new Select(WaitUtil.waitForElementVisible(element));
             select.selectByValue(value);
             LOGGER.debug("Selected option with value '{}' from dropdown", value);
@@ -196,7 +214,7 @@ public class ElementUtil {
      * @param index Index to select
      */
     public static void selectByIndex(WebElement element, int index) {
-        try {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
             Select select = new Select(WaitUtil.waitForElementVisible(element));
             select.selectByIndex(index);
             LOGGER.debug("Selected option with index {} from dropdown", index);
@@ -211,7 +229,7 @@ public class ElementUtil {
      * @param element WebElement to hover over
      */
     public static void hoverOver(WebElement element) {
-        try {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
             Actions actions = new Actions(DriverManager.getDriver());
             actions.moveToElement(WaitUtil.waitForElementVisible(element)).perform();
             LOGGER.debug("Hovered over element: {}", element);
@@ -226,7 +244,7 @@ public class ElementUtil {
      * @param element WebElement to scroll to
      */
     public static void scrollToElement(WebElement element) {
-        try {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.ACTION)) {
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
             js.executeScript("arguments[0].scrollIntoView(true);", element);
             WaitUtil.staticWait(300); // Small wait for scroll to complete
@@ -237,6 +255,20 @@ public class ElementUtil {
         }
     }
 
+    /**
+     * Element to act on in an attempt: the original one until it has gone stale
+     * @param element Original element
+     * @param attempt Current retry attempt
+     * @return Element to use
+     */
+    private static WebElement resolve(WebElement element, RetryEngine.Attempt attempt) {
+        if (!attempt.hasFailed(FailureClass.STALE)) {
+            return element;
+        }
+        // The original reference stays stale, so locate the element again on every later attempt
+        return DriverManager.getDriver().findElement(getByFromElement(element));
+    }
+
     /**
      * Get By locator from WebElement
      * This is a hacky way to get the By locator used for an element
@@ -1,53 +1,122 @@
 package com.UI.utils;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import com.UI.config.ConfigManager;
+import com.UI.grid.GridCapacity;
+import com.UI.grid.GridCapacityMonitor;
+import com.UI.grid.GridLifecycleManager;
+import com.UI.grid.GridStatusClient;
+import com.UI.grid.PortForwardTunnel;
+import com.UI.grid.ProcessCommandRunner;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
 
 public class KubernetesUtil {
-    public static void startSeleniumGrid() throws InterruptedException {
-        executeCommand("kubectl create -f kubernetes/Selenium-grid.yaml");
-        Thread.sleep(50000);
+    private static final Logger LOGGER = LoggerUtil.getLogger(KubernetesUtil.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+
+    private static GridLifecycleManager lifecycleManager;
+    private static volatile PortForwardTunnel portForward;
+
+    private KubernetesUtil() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Create the Grid resources. Does not wait; call {@link #awaitGridReady()} once the hub is reachable.
+     */
+    public static void startSeleniumGrid() {
+        getLifecycleManager().launch(
+                CONFIG_MANAGER.getProperty("grid.start.command", "kubectl create -f kubernetes/Selenium-grid.yaml"),
+                getBrowser(), getRequiredSlots());
+    }
+
+    /**
+     * Block until the hub reports ready with grid.ready.slots free slots, or fail after grid.ready.timeout.seconds
+     * @return Capacity observed when the Grid became ready
+     */
+    public static GridCapacity awaitGridReady() {
+        Duration timeout = Duration.ofSeconds(
+                Integer.parseInt(CONFIG_MANAGER.getProperty("grid.ready.timeout.seconds", "180")));
+        return getLifecycleManager().awaitReady(getBrowser(), getRequiredSlots(), timeout);
     }
 
+    /**
+     * Delete the Grid resources if this run created them
+     */
     public static void stopSeleniumGrid() {
-        executeCommand("kubectl delete -f kubernetes/Selenium-grid.yaml");
-    }
-    public static void assignPortToLocal()
-    {
-        //executeCommand("kubectl port-forward service/selenium-hub 4444:4444");
-        new Thread(() -> {
-            try {
-                ProcessBuilder builder = new ProcessBuilder("cmd.exe", "/c",
-                        "kubectl port-forward service/selenium-hub 4444:4444");
-                builder.redirectErrorStream(true);
-                Process process = builder.start();
-
-                BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    System.out.println("[PortForward] " + line);
-                }
-
-                // Keep a reference to the process if you want to stop it later
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }).start();
-    }
-    private static void executeCommand(String command) {
-        try {
-            ProcessBuilder processBuilder = new ProcessBuilder("cmd.exe", "/c", command);
-            Process process = processBuilder.start();
-            BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()));
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                System.out.println(line);
-            }
-            process.waitFor();
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (lifecycleManager == null || !lifecycleManager.isStarted()) {
+            return;
+        }
+        lifecycleManager.stop(
+                CONFIG_MANAGER.getProperty("grid.stop.command", "kubectl delete -f kubernetes/Selenium-grid.yaml"));
+    }
+
+    /**
+     * Replace the lifecycle manager, e.g. with one using a stub command runner
+     * @param manager Lifecycle manager to use
+     */
+    public static synchronized void setLifecycleManager(GridLifecycleManager manager) {
+        lifecycleManager = manager;
+    }
+
+    /**
+     * Start a supervised port-forward to the hub. The tunnel is probed and restarted
+     * while the suite runs; stop it with {@link #stopPortForward()}.
+     */
+    public static synchronized void assignPortToLocal() {
+        if (portForward != null) {
+            return;
         }
+        PortForwardTunnel tunnel = new PortForwardTunnel(new ProcessCommandRunner(),
+                ProcessCommandRunner.tokenize(CONFIG_MANAGER.getProperty("tunnel.command",
+                        "kubectl port-forward service/selenium-hub 4444:4444")),
+                "localhost",
+                Integer.parseInt(CONFIG_MANAGER.getProperty("tunnel.local.port", "4444")),
+                Duration.ofSeconds(Integer.parseInt(CONFIG_MANAGER.getProperty("tunnel.probe.seconds", "1"))));
+        tunnel.start();
+        // Do not leave kubectl running if the JVM exits without @AfterSuite
+        Runtime.getRuntime().addShutdownHook(new Thread(tunnel::close, "port-forward-shutdown"));
+        portForward = tunnel;
+    }
+
+    /**
+     * Wait for the port-forward to be usable
+     * @param timeout Maximum time to wait
+     * @return true if no port-forward is running or it is available
+     */
+    public static boolean awaitPortForward(Duration timeout) {
+        PortForwardTunnel tunnel = portForward;
+        return tunnel == null || tunnel.awaitAvailable(timeout);
+    }
+
+    /**
+     * Stop the port-forward, if one was started
+     */
+    public static synchronized void stopPortForward() {
+        if (portForward != null) {
+            portForward.close();
+            portForward = null;
+        }
+    }
+
+    private static synchronized GridLifecycleManager getLifecycleManager() {
+        if (lifecycleManager == null) {
+            String statusUrl = CONFIG_MANAGER.getProperty("grid.status.url", GridCapacityMonitor.getHubUrl());
+            Duration commandTimeout = Duration.ofSeconds(
+                    Integer.parseInt(CONFIG_MANAGER.getProperty("grid.command.timeout.seconds", "120")));
+            lifecycleManager = new GridLifecycleManager(new ProcessCommandRunner(),
+                    new GridStatusClient(statusUrl), commandTimeout);
+            LOGGER.debug("Grid lifecycle manager polling {}", statusUrl);
+        }
+        return lifecycleManager;
+    }
+
+    private static String getBrowser() {
+        return CONFIG_MANAGER.getProperty("browser", "chrome").toLowerCase();
+    }
+
+    private static int getRequiredSlots() {
+        return Integer.parseInt(CONFIG_MANAGER.getProperty("grid.ready.slots", "1"));
     }
 }
@@ -1,74 +1,142 @@
 package com.UI.utils;
 
+import com.UI.context.TestContext;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
 
 public class LoggerUtil {
-    private static final ThreadLocal<Logger> threadLocalLogger = new ThreadLocal<>();
-    private static final ThreadLocal<List<String>> testLogs = new ThreadLocal<>();
+    private static final int TEST_LOG_CAPACITY = Integer.getInteger("test.log.capacity", 512);
+    private static final StackWalker STACK_WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Logger SELF = LogManager.getLogger(LoggerUtil.class);
+
+    // Most verbose level any configured logger accepts, cached per configuration
+    private static volatile Configuration levelConfiguration;
+    private static volatile int mostVerboseLevel;
 
     private LoggerUtil() {
         // Private constructor to prevent instantiation
     }
 
+    /**
+     * Get logger for the calling class
+     * @return Logger named after the first caller outside LoggerUtil
+     */
     public static Logger getLogger() {
-        if (threadLocalLogger.get() == null) {
-            String className = Thread.currentThread().getStackTrace()[2].getClassName();
-            threadLocalLogger.set(LogManager.getLogger(className));
-            testLogs.set(new ArrayList<>());
-        }
-        return threadLocalLogger.get();
+        Class<?> caller = STACK_WALKER.walk(frames -> frames
+                .<Class<?>>map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(clazz -> clazz != LoggerUtil.class)
+                .findFirst()
+                .orElse(LoggerUtil.class));
+        return LogManager.getLogger(caller);
     }
 
     public static Logger getLogger(Class<?> clazz) {
         return LogManager.getLogger(clazz);
     }
 
-    public static void info(String message) {
-        getLogger().info(message);
-        addToTestLogs("INFO: " + message);
+    public static void info(String message, Object... params) {
+        log(Level.INFO, message, params);
+    }
+
+    public static void info(Class<?> clazz, String message, Object... params) {
+        log(clazz, Level.INFO, message, params);
+    }
+
+    public static void warn(String message, Object... params) {
+        log(Level.WARN, message, params);
     }
 
-    public static void warn(String message) {
-        getLogger().warn(message);
-        addToTestLogs("WARN: " + message);
+    public static void warn(Class<?> clazz, String message, Object... params) {
+        log(clazz, Level.WARN, message, params);
     }
 
-    public static void error(String message) {
-        getLogger().error(message);
-        addToTestLogs("ERROR: " + message);
+    public static void error(String message, Object... params) {
+        log(Level.ERROR, message, params);
     }
 
     public static void error(String message, Throwable throwable) {
-        getLogger().error(message, throwable);
-        addToTestLogs("ERROR: " + message + "\n" + throwable.toString());
+        if (isConfiguredFor(Level.ERROR)) {
+            getLogger().error(message, throwable);
+        }
+    }
+
+    public static void error(Class<?> clazz, String message, Object... params) {
+        log(clazz, Level.ERROR, message, params);
+    }
+
+    public static void debug(String message, Object... params) {
+        log(Level.DEBUG, message, params);
     }
 
-    public static void debug(String message) {
-        getLogger().debug(message);
-        addToTestLogs("DEBUG: " + message);
+    public static void debug(Class<?> clazz, String message, Object... params) {
+        log(clazz, Level.DEBUG, message, params);
     }
 
-    private static void addToTestLogs(String message) {
-        if (testLogs.get() == null) {
-            testLogs.set(new ArrayList<>());
+    /**
+     * Log through the calling class's logger, skipping the caller lookup when no logger accepts the level
+     */
+    private static void log(Level level, String message, Object... params) {
+        if (isConfiguredFor(level)) {
+            getLogger().log(level, message, params);
         }
-        testLogs.get().add(message);
     }
 
-    public static String getTestLogs() {
-        if (testLogs.get() == null) {
-            return "";
+    private static void log(Class<?> clazz, Level level, String message, Object... params) {
+        if (isConfiguredFor(level)) {
+            getLogger(clazz).log(level, message, params);
+        }
+    }
+
+    /**
+     * Check whether any configured logger accepts a level
+     * @param level Log level
+     * @return false only if the event would be dropped by every logger
+     */
+    private static boolean isConfiguredFor(Level level) {
+        if (!(SELF instanceof org.apache.logging.log4j.core.Logger)) {
+            return true;
+        }
+        LoggerContext context = ((org.apache.logging.log4j.core.Logger) SELF).getContext();
+        Configuration configuration = context.getConfiguration();
+        if (configuration != levelConfiguration) {
+            int verbose = configuration.getRootLogger().getLevel().intLevel();
+            for (LoggerConfig loggerConfig : configuration.getLoggers().values()) {
+                verbose = Math.max(verbose, loggerConfig.getLevel().intLevel());
+            }
+            mostVerboseLevel = verbose;
+            levelConfiguration = configuration;
         }
-        return String.join("\n", testLogs.get());
+        return level.intLevel() <= mostVerboseLevel;
     }
 
-    public static void clearThreadLocalLogger() {
-        threadLocalLogger.remove();
-        testLogs.remove();
+    /**
+     * Start capturing log events for a test.
+     * Every logger routed to the TestCapture appender feeds the buffer of the
+     * context bound to the logging thread.
+     * @param context Context of the test being captured
+     * @return Test id of the context
+     */
+    public static String startTestCapture(TestContext context) {
+        context.setLogBuffer(new TestLogBuffer(TEST_LOG_CAPACITY));
+        return context.getTestId();
+    }
+
+    /**
+     * Format the current test's captured logs
+     * @return Log text, or empty string if nothing was captured
+     */
+    public static String getTestLogs() {
+        TestContext context = TestContext.current();
+        TestLogBuffer buffer = context == null ? null : context.getLogBuffer();
+        if (buffer == null) {
+            return "";
+        }
+        return buffer.format();
     }
 
 }
@@ -0,0 +1,156 @@
+package com.UI.utils;
+
+import com.UI.config.ConfigManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Page readiness conditions for {@link WaitUtil#waitForReady(ExpectedCondition)}.
+ * Page objects combine these (e.g. with {@link ExpectedConditions#and}) to say when they are
+ * usable, so navigation can return before unrelated subresources finish loading.
+ */
+public class ReadyConditions {
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final String NAVIGATION_MARKER = "__uiPendingNavigation";
+
+    // Counts in-flight fetch/XHR and records the last network activity. Subresources the document
+    // was already loading when the probe was installed (eager/none load strategies) are not in the
+    // resource timeline until they finish, so they are covered by waiting for readyState complete.
+    private static final String NETWORK_IDLE_SCRIPT =
+            "var quiet = arguments[0];"
+            + "if (!window.__uiReadiness) {"
+            + "  var s = {inflight: 0, last: performance.now()};"
+            + "  var touch = function() { s.last = Math.max(s.last, performance.now()); };"
+            + "  try { new PerformanceObserver(touch).observe({type: 'resource'}); } catch (e) {}"
+            + "  if (window.fetch) {"
+            + "    var originalFetch = window.fetch;"
+            + "    window.fetch = function() {"
+            + "      s.inflight++; touch();"
+            + "      return originalFetch.apply(this, arguments).finally(function() { s.inflight--; touch(); });"
+            + "    };"
+            + "  }"
+            + "  var originalSend = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function() {"
+            + "    s.inflight++; touch();"
+            + "    this.addEventListener('loadend', function() { s.inflight--; touch(); });"
+            + "    return originalSend.apply(this, arguments);"
+            + "  };"
+            + "  window.__uiReadiness = s;"
+            + "}"
+            + "var state = window.__uiReadiness;"
+            + "return document.readyState === 'complete' && state.inflight <= 0"
+            + "  && performance.now() - state.last >= quiet;";
+
+    private ReadyConditions() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Document and all subresources loaded (document.readyState is complete)
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> documentComplete() {
+        return script("document complete", "return document.readyState === 'complete';");
+    }
+
+    /**
+     * DOM parsed; images, fonts and other subresources may still be loading
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> domInteractive() {
+        return script("DOM interactive", "return document.readyState !== 'loading';");
+    }
+
+    /**
+     * A key element of the page is visible
+     * @param locator Locator of the key element
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> elementVisible(By locator) {
+        ExpectedCondition<?> visible = ExpectedConditions.visibilityOfElementLocated(locator);
+        return condition("visible " + locator, driver -> visible.apply(driver) != null);
+    }
+
+    /**
+     * Document loaded, no fetch/XHR in flight and no resource finished loading for page.ready.network.idle.millis
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> networkIdle() {
+        return networkIdle(Duration.ofMillis(
+                Integer.parseInt(CONFIG_MANAGER.getProperty("page.ready.network.idle.millis", "500"))));
+    }
+
+    /**
+     * Document loaded, no fetch/XHR in flight and no resource finished loading for the quiet period
+     * @param quietPeriod Time without network activity
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> networkIdle(Duration quietPeriod) {
+        return condition("network idle " + quietPeriod.toMillis() + "ms", driver -> Boolean.TRUE.equals(
+                ((JavascriptExecutor) driver).executeScript(NETWORK_IDLE_SCRIPT, quietPeriod.toMillis())));
+    }
+
+    /**
+     * Angular reports every testability as stable; true on pages without Angular
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> angularStable() {
+        return script("Angular stable", "return !window.getAllAngularTestabilities"
+                + " || window.getAllAngularTestabilities().every(function(t) { return t.isStable(); });");
+    }
+
+    /**
+     * No jQuery AJAX requests active; true on pages without jQuery
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> jQueryIdle() {
+        return script("jQuery idle", "return !window.jQuery || window.jQuery.active === 0;");
+    }
+
+    /**
+     * A page-specific JavaScript hook returns true
+     * @param description Description used in logs and timeouts
+     * @param javascript Script with a return statement
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> script(String description, String javascript) {
+        return condition(description, driver -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(javascript)));
+    }
+
+    /**
+     * Mark the current document so {@link #navigatedAway()} can tell it from the next one.
+     * Needed with page.load.strategy=none, where driver.get can return before the old page is replaced.
+     * @param driver WebDriver instance
+     */
+    public static void markDocument(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript("window." + NAVIGATION_MARKER + " = true;");
+    }
+
+    /**
+     * The document marked by {@link #markDocument(WebDriver)} has been replaced
+     * @return Ready condition
+     */
+    public static ExpectedCondition<Boolean> navigatedAway() {
+        return script("new document", "return !window." + NAVIGATION_MARKER + ";");
+    }
+
+    private static ExpectedCondition<Boolean> condition(String description, Function<WebDriver, Boolean> check) {
+        return new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                return check.apply(driver);
+            }
+
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+}
@@ -0,0 +1,219 @@
+package com.UI.utils;
+
+import com.UI.config.ConfigManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.UI.constants.FrameworkConstants.SCREENSHOT_PATH;
+
+/**
+ * Content-addressed screenshot store.
+ * Identical (and optionally near-identical) captures share one file on disk.
+ */
+public class ScreenshotStore {
+    private static final Logger LOGGER = LoggerUtil.getLogger(ScreenshotStore.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+
+    private static final boolean PERCEPTUAL = Boolean.parseBoolean(
+            CONFIG_MANAGER.getProperty("screenshot.dedup.perceptual", "false"));
+    private static final int PERCEPTUAL_THRESHOLD = Integer.parseInt(
+            CONFIG_MANAGER.getProperty("screenshot.dedup.perceptual.threshold", "4"));
+
+    private static final Map<String, Blob> BLOBS = new ConcurrentHashMap<>();
+    private static final Map<Path, CompletableFuture<Path>> PENDING = new ConcurrentHashMap<>();
+    private static final List<Blob> PERCEPTUAL_INDEX = new ArrayList<>();
+    private static final AtomicLong UNIQUE_COUNT = new AtomicLong();
+    private static final AtomicLong REUSED_COUNT = new AtomicLong();
+    private static final AtomicLong REUSED_BYTES = new AtomicLong();
+
+    private ScreenshotStore() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Check whether deduplication is enabled
+     * @return true if screenshots should go through the store
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(CONFIG_MANAGER.getProperty("screenshot.dedup", "true"));
+    }
+
+    /**
+     * Store a capture, reusing an existing blob when the content matches.
+     * New blobs are queued on the ScreenshotWriter.
+     * @param rawPng PNG bytes as returned by the driver
+     * @param fileName File name used when deduplication is disabled
+     * @return Path of the file that holds this image
+     */
+    public static Path store(byte[] rawPng, String fileName) {
+        if (!isEnabled()) {
+            Path destination = Paths.get(SCREENSHOT_PATH, fileName);
+            CompletableFuture<Path> written = ScreenshotWriter.submit(rawPng, destination);
+            PENDING.put(destination, written);
+            written.whenComplete((path, error) -> PENDING.remove(destination));
+            return destination;
+        }
+
+        String key = contentKey(rawPng);
+        Blob existing = BLOBS.get(key);
+        if (existing != null) {
+            return reuse(existing, rawPng.length);
+        }
+
+        Long perceptualHash = PERCEPTUAL ? differenceHash(rawPng) : null;
+        // Images that cannot be decoded have no hash and are only matched by content
+        if (perceptualHash != null) {
+            Blob similar = findSimilar(perceptualHash);
+            if (similar != null) {
+                BLOBS.putIfAbsent(key, similar);
+                return reuse(similar, rawPng.length);
+            }
+        }
+
+        Path blobPath = Paths.get(SCREENSHOT_PATH, key + "." + ScreenshotWriter.getExtension());
+        Blob created = new Blob(blobPath, perceptualHash);
+        Blob winner = BLOBS.putIfAbsent(key, created);
+        if (winner != null) {
+            return reuse(winner, rawPng.length);
+        }
+        UNIQUE_COUNT.incrementAndGet();
+        ScreenshotWriter.submit(rawPng, blobPath).whenComplete((path, error) -> {
+            if (error != null) {
+                created.written.completeExceptionally(error);
+            } else {
+                created.written.complete(path);
+            }
+        });
+        if (perceptualHash != null) {
+            synchronized (PERCEPTUAL_INDEX) {
+                PERCEPTUAL_INDEX.add(created);
+            }
+        }
+        LOGGER.debug("Stored new screenshot blob: {}", blobPath);
+        return blobPath;
+    }
+
+    /**
+     * Get a future that completes once the file has been written
+     * @param path Path returned by {@link #store(byte[], String)}
+     * @return Future for the written file
+     */
+    public static CompletableFuture<Path> whenWritten(Path path) {
+        CompletableFuture<Path> pending = PENDING.get(path);
+        if (pending != null) {
+            return pending;
+        }
+        String fileName = path.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        Blob blob = BLOBS.get(dot > 0 ? fileName.substring(0, dot) : fileName);
+        return blob != null ? blob.written : CompletableFuture.completedFuture(path);
+    }
+
+    /**
+     * Log deduplication statistics
+     */
+    public static void logMetrics() {
+        LOGGER.info("Screenshot store: {} unique blobs, {} reused captures, {} bytes not written",
+                UNIQUE_COUNT.get(), REUSED_COUNT.get(), REUSED_BYTES.get());
+    }
+
+    private static Path reuse(Blob blob, int size) {
+        REUSED_COUNT.incrementAndGet();
+        REUSED_BYTES.addAndGet(size);
+        LOGGER.debug("Reusing screenshot blob: {}", blob.path);
+        return blob.path;
+    }
+
+    /**
+     * Find the blob whose perceptual hash is nearest, within the threshold
+     */
+    private static Blob findSimilar(long perceptualHash) {
+        Blob nearest = null;
+        int nearestDistance = PERCEPTUAL_THRESHOLD + 1;
+        synchronized (PERCEPTUAL_INDEX) {
+            for (Blob blob : PERCEPTUAL_INDEX) {
+                int distance = Long.bitCount(blob.perceptualHash ^ perceptualHash);
+                if (distance < nearestDistance) {
+                    nearest = blob;
+                    nearestDistance = distance;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Build the content key as the SHA-256 of the image bytes
+     */
+    private static String contentKey(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder key = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Compute a 64-bit difference hash (dHash) on a 9x8 grayscale thumbnail
+     * @return Hash, or null if the image cannot be decoded
+     */
+    private static Long differenceHash(byte[] rawPng) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(rawPng));
+            if (image == null) {
+                return null;
+            }
+            BufferedImage thumbnail = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D graphics = thumbnail.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, 9, 8, null);
+            graphics.dispose();
+
+            long hash = 0;
+            for (int y = 0; y < 8; y++) {
+                for (int x = 0; x < 8; x++) {
+                    int left = thumbnail.getRaster().getSample(x, y, 0);
+                    int right = thumbnail.getRaster().getSample(x + 1, y, 0);
+                    hash = (hash << 1) | (left > right ? 1 : 0);
+                }
+            }
+            return hash;
+        } catch (IOException e) {
+            LOGGER.warn("Could not compute perceptual hash", e);
+            return null;
+        }
+    }
+
+    private static class Blob {
+        private final Path path;
+        private final long perceptualHash;
+        private final CompletableFuture<Path> written = new CompletableFuture<>();
+
+        private Blob(Path path, Long perceptualHash) {
+            this.path = path;
+            this.perceptualHash = perceptualHash == null ? 0 : perceptualHash;
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package com.UI.utils;
 
 import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
 import com.UI.drivers.DriverManager;
-import org.apache.commons.io.FileUtils;
+import com.UI.metrics.Phase;
+import com.UI.metrics.PhaseTimer;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
-import java.io.File;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-
-import static com.UI.constants.FrameworkConstants.SCREENSHOT_PATH;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Utility class for taking screenshots
@@ -20,6 +32,9 @@ import static com.UI.constants.FrameworkConstants.SCREENSHOT_PATH;
 public class ScreenshotUtil {
     private static final Logger LOGGER = LoggerUtil.getLogger(ScreenshotUtil.class);
     private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+    private static final boolean FOCUS_ON_ELEMENT = Boolean.parseBoolean(
+            CONFIG_MANAGER.getProperty("screenshot.failure.element", "true"));
+    private static final TestContext.Key<Object> FAILURE_FOCUS = TestContext.Key.of("screenshot.failure.focus");
     //private static final String SCREENSHOT_PATH = "test-output/reports/screenshots";
 
     private ScreenshotUtil() {
@@ -28,40 +43,232 @@ public class ScreenshotUtil {
 
     public static String takeScreenshot() {
         String timeStamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String fileName = "screenshot_" + timeStamp + ".png";
+        String fileName = "screenshot_" + timeStamp;
         return takeScreenshot(fileName);
     }
 
+    /**
+     * Capture a screenshot and queue it for writing.
+     * The file may still be in flight when this returns.
+     * @param fileName File name without directory
+     * @return Path relative to the report directory, or null if capture failed
+     */
     public static String takeScreenshot(String fileName) {
+        return toReportPath(capture(withExtension(fileName), null));
+    }
+
+    /**
+     * Capture a screenshot on the calling thread and encode/write it in the background
+     * @param fileName File name without directory
+     * @return Future completed with the written file, or null if capture failed
+     */
+    public static CompletableFuture<Path> takeScreenshotAsync(String fileName) {
+        return whenWritten(capture(withExtension(fileName), null));
+    }
+
+    /**
+     * Capture only the given element
+     * @param element WebElement to capture
+     * @param fileName File name without directory
+     * @return Path relative to the report directory, or null if capture failed
+     */
+    public static String takeElementScreenshot(WebElement element, String fileName) {
+        return toReportPath(capture(withExtension(fileName), element));
+    }
+
+    /**
+     * Capture only the element found by the locator
+     * @param locator By locator of the region to capture
+     * @param fileName File name without directory
+     * @return Path relative to the report directory, or null if capture failed
+     */
+    public static String takeElementScreenshot(By locator, String fileName) {
         WebDriver driver = DriverManager.getDriver();
         if (driver == null) {
             LOGGER.error("Cannot take screenshot - WebDriver is null");
             return null;
         }
+        try {
+            return takeElementScreenshot(driver.findElement(locator), fileName);
+        } catch (WebDriverException e) {
+            LOGGER.warn("Element not found for screenshot: {}", locator);
+            return null;
+        }
+    }
 
+    public static String takeFailureScreenshot(String testName, String testClass) {
+        return toReportPath(capture(withExtension(getFailureFileName(testName, testClass)), null));
+    }
+
+    /**
+     * Take failure screenshot and return a future for the written file
+     * @param testName Test method name
+     * @param testClass Fully qualified test class name
+     * @return Future completed with the written file, or null if capture failed
+     */
+    public static CompletableFuture<Path> takeFailureScreenshotAsync(String testName, String testClass) {
+        return whenWritten(capture(withExtension(getFailureFileName(testName, testClass)), null));
+    }
+
+    /**
+     * Crop of the element the failing wait or action was operating on, attached next to the
+     * failure screenshot
+     * @param testName Test method name
+     * @param testClass Fully qualified test class name
+     * @return Path relative to the report directory, or null if no focus was recorded or capture failed
+     */
+    public static String takeFailureElementScreenshot(String testName, String testClass) {
+        return toReportPath(captureFailureElement(getFailureFileName(testName, testClass) + "_element"));
+    }
+
+    /**
+     * Crop of the failure focus element, returning a future for the written file
+     * @param testName Test method name
+     * @param testClass Fully qualified test class name
+     * @return Future completed with the written file, or null if no focus was recorded or capture failed
+     */
+    public static CompletableFuture<Path> takeFailureElementScreenshotAsync(String testName, String testClass) {
+        return whenWritten(captureFailureElement(getFailureFileName(testName, testClass) + "_element"));
+    }
+
+    /**
+     * Remember the element a failing wait or action was operating on,
+     * so the failure screenshot can be cropped to it
+     * @param element WebElement the failing call was operating on
+     */
+    public static void setFailureFocus(WebElement element) {
+        setFocus(element);
+    }
+
+    /**
+     * Remember the locator a failing wait or action was operating on
+     * @param locator By locator the failing call was operating on
+     */
+    public static void setFailureFocus(By locator) {
+        setFocus(locator);
+    }
+
+    /**
+     * Clear the remembered failure focus
+     */
+    public static void clearFailureFocus() {
+        setFocus(null);
+    }
+
+    private static void setFocus(Object focus) {
+        TestContext context = TestContext.current();
+        if (context != null) {
+            context.put(FAILURE_FOCUS, focus);
+        }
+    }
+
+    /**
+     * Capture the failure focus element, if one was recorded and is still on the page
+     */
+    private static Path captureFailureElement(String fileName) {
+        TestContext context = TestContext.current();
+        Object focus = context == null ? null : context.get(FAILURE_FOCUS);
+        if (focus == null || !FOCUS_ON_ELEMENT) {
+            return null;
+        }
         try {
-            File directory = new File(SCREENSHOT_PATH);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
+            WebElement element = focus instanceof By
+                    ? DriverManager.getDriver().findElement((By) focus)
+                    : (WebElement) focus;
+            return capture(withExtension(fileName), element);
+        } catch (WebDriverException e) {
+            LOGGER.debug("Failure focus element not available, attaching the viewport only");
+            return null;
+        }
+    }
 
-            File screenshotFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            String filePath = SCREENSHOT_PATH + File.separator + fileName;
-            File destination = new File(filePath);
-            FileUtils.copyFile(screenshotFile, destination);
+    /**
+     * Capture a screenshot and hand it to the store
+     * @param fileName File name used when deduplication is disabled
+     * @param element Element to capture, or null for the full viewport
+     * @return Path the image will be written to, or null if capture failed
+     */
+    private static Path capture(String fileName, WebElement element) {
+        WebDriver driver = DriverManager.getDriver();
+        if (driver == null) {
+            LOGGER.error("Cannot take screenshot - WebDriver is null");
+            return null;
+        }
 
-            // Return relative path for ExtentReports
-            return "screenshots/" + fileName;
-        } catch (IOException e) {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.SCREENSHOT)) {
+            byte[] screenshot = element == null
+                    ? ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES)
+                    : captureElement(driver, element);
+            Path stored = ScreenshotStore.store(screenshot, fileName);
+            TestContext context = TestContext.current();
+            if (context != null) {
+                context.addArtifact(stored);
+            }
+            return stored;
+        } catch (Exception e) {
             LOGGER.error("Failed to take screenshot", e);
             return null;
         }
     }
 
-    public static String takeFailureScreenshot(String testName, String testClass) {
+    /**
+     * Use the driver-side element screenshot, falling back to cropping the viewport locally
+     */
+    private static byte[] captureElement(WebDriver driver, WebElement element) throws IOException {
+        try {
+            return element.getScreenshotAs(OutputType.BYTES);
+        } catch (UnsupportedOperationException | UnsupportedCommandException e) {
+            LOGGER.debug("Element screenshot not supported by driver, cropping viewport");
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Number> box = (List<Number>) ((JavascriptExecutor) driver).executeScript(
+                "var r = arguments[0].getBoundingClientRect();"
+                        + "return [r.left, r.top, r.width, r.height, window.devicePixelRatio || 1];", element);
+        byte[] viewport = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(viewport));
+        if (image == null) {
+            return viewport;
+        }
+
+        double ratio = box.get(4).doubleValue();
+        int x = clamp((int) Math.floor(box.get(0).doubleValue() * ratio), image.getWidth() - 1);
+        int y = clamp((int) Math.floor(box.get(1).doubleValue() * ratio), image.getHeight() - 1);
+        int width = clamp((int) Math.ceil(box.get(2).doubleValue() * ratio), image.getWidth() - x);
+        int height = clamp((int) Math.ceil(box.get(3).doubleValue() * ratio), image.getHeight() - y);
+        if (width <= 0 || height <= 0) {
+            return viewport;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image.getSubimage(x, y, width, height), "png", out);
+        return out.toByteArray();
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(0, Math.min(value, max));
+    }
+
+    private static String toReportPath(Path stored) {
+        return stored == null ? null : "screenshots/" + stored.getFileName();
+    }
+
+    private static CompletableFuture<Path> whenWritten(Path stored) {
+        return stored == null ? null : ScreenshotStore.whenWritten(stored);
+    }
+
+    private static String getFailureFileName(String testName, String testClass) {
         String className = testClass.substring(testClass.lastIndexOf('.') + 1);
-        String fileName = "failure_" + className + "_" + testName + "_" +
-                new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date()) + ".png";
-        return takeScreenshot(fileName);
+        return "failure_" + className + "_" + testName + "_" +
+                new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+    }
+
+    private static String withExtension(String fileName) {
+        String extension = "." + ScreenshotWriter.getExtension();
+        int dot = fileName.lastIndexOf('.');
+        if (dot > 0) {
+            fileName = fileName.substring(0, dot);
+        }
+        return fileName + extension;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,275 @@
+package com.UI.utils;
+
+import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
+import org.apache.logging.log4j.Logger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded worker pool that encodes and writes screenshots off the test thread
+ */
+public class ScreenshotWriter {
+    private static final Logger LOGGER = LoggerUtil.getLogger(ScreenshotWriter.class);
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+
+    private static final int THREADS = Integer.parseInt(CONFIG_MANAGER.getProperty("screenshot.writer.threads", "2"));
+    private static final int QUEUE_SIZE = Integer.parseInt(CONFIG_MANAGER.getProperty("screenshot.writer.queue.size", "16"));
+    private static final String FORMAT = CONFIG_MANAGER.getProperty("screenshot.format", "png").toLowerCase();
+    private static final double SCALE = Double.parseDouble(CONFIG_MANAGER.getProperty("screenshot.scale", "1.0"));
+    private static final float JPEG_QUALITY = Float.parseFloat(CONFIG_MANAGER.getProperty("screenshot.jpeg.quality", "0.8"));
+
+    private static final AtomicLong ENCODED_COUNT = new AtomicLong();
+    private static final AtomicLong ENCODE_NANOS = new AtomicLong();
+    private static final AtomicLong MAX_ENCODE_NANOS = new AtomicLong();
+    private static final AtomicLong RAW_BYTES = new AtomicLong();
+    private static final AtomicLong WRITTEN_BYTES = new AtomicLong();
+
+    private static ThreadPoolExecutor executor;
+
+    private ScreenshotWriter() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get file extension produced by the configured format
+     * @return File extension without the dot
+     */
+    public static String getExtension() {
+        return "jpeg".equals(FORMAT) || "jpg".equals(FORMAT) ? "jpg" : "png";
+    }
+
+    /**
+     * Get MIME type produced by the configured format
+     * @return MIME type
+     */
+    public static String getMimeType() {
+        return "jpg".equals(getExtension()) ? "image/jpeg" : "image/png";
+    }
+
+    /**
+     * Submit raw PNG bytes for encoding and writing.
+     * The task runs with the caller's test context bound, so its logs land in the test's capture.
+     * Blocks the caller while the queue is full.
+     * @param rawPng PNG bytes as returned by the driver
+     * @param destination Target file
+     * @return Future completed with the written file
+     */
+    public static CompletableFuture<Path> submit(byte[] rawPng, Path destination) {
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        Runnable task = TestContext.propagate(() -> {
+            try {
+                future.complete(encodeAndWrite(rawPng, destination));
+            } catch (Exception e) {
+                LOGGER.error("Failed to write screenshot: {}", destination, e);
+                future.completeExceptionally(e);
+            }
+        });
+        try {
+            getExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Screenshot writer is shut down, writing on caller thread: {}", destination);
+            task.run();
+        }
+        return future;
+    }
+
+    /**
+     * Wait for queued screenshots to be written and stop the worker pool
+     * @param timeoutInSeconds Maximum time to wait
+     */
+    public static synchronized void shutdown(int timeoutInSeconds) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutInSeconds, TimeUnit.SECONDS)) {
+                LOGGER.warn("Screenshot writer did not finish within {} seconds", timeoutInSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while waiting for screenshot writer", e);
+        }
+        executor = null;
+        logMetrics();
+    }
+
+    /**
+     * Log encode latency and size metrics
+     */
+    public static void logMetrics() {
+        long count = ENCODED_COUNT.get();
+        if (count == 0) {
+            return;
+        }
+        LOGGER.info("Screenshots written: {}, avg encode: {} ms, max encode: {} ms, raw: {} bytes, written: {} bytes, saved: {} bytes",
+                count,
+                TimeUnit.NANOSECONDS.toMillis(ENCODE_NANOS.get() / count),
+                TimeUnit.NANOSECONDS.toMillis(MAX_ENCODE_NANOS.get()),
+                RAW_BYTES.get(), WRITTEN_BYTES.get(), getBytesSaved());
+    }
+
+    /**
+     * Get bytes saved by re-encoding
+     * @return Raw bytes minus written bytes
+     */
+    public static long getBytesSaved() {
+        return RAW_BYTES.get() - WRITTEN_BYTES.get();
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_SIZE), new WriterThreadFactory(),
+                    (task, rejectingPool) -> {
+                        if (rejectingPool.isShutdown()) {
+                            throw new RejectedExecutionException("Screenshot writer is shut down");
+                        }
+                        try {
+                            // Backpressure: block the test thread until a slot frees up
+                            rejectingPool.getQueue().put(task);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException("Interrupted while queueing screenshot", e);
+                        }
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    private static Path encodeAndWrite(byte[] rawPng, Path destination) throws IOException {
+        long start = System.nanoTime();
+        byte[] encoded = encode(rawPng);
+        long elapsed = System.nanoTime() - start;
+
+        Files.createDirectories(destination.getParent());
+        try (FileChannel channel = FileChannel.open(destination,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(encoded);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        ENCODED_COUNT.incrementAndGet();
+        ENCODE_NANOS.addAndGet(elapsed);
+        MAX_ENCODE_NANOS.accumulateAndGet(elapsed, Math::max);
+        RAW_BYTES.addAndGet(rawPng.length);
+        WRITTEN_BYTES.addAndGet(encoded.length);
+        LOGGER.debug("Wrote screenshot {} ({} -> {} bytes in {} ms)", destination, rawPng.length, encoded.length,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return destination;
+    }
+
+    private static byte[] encode(byte[] rawPng) throws IOException {
+        if ("png".equals(FORMAT) && SCALE >= 1.0) {
+            return rawPng;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(rawPng));
+        if (image == null) {
+            LOGGER.warn("Could not decode screenshot, writing raw bytes");
+            return rawPng;
+        }
+        if (SCALE < 1.0) {
+            image = downscale(image, SCALE);
+        }
+        switch (FORMAT) {
+            case "jpeg":
+            case "jpg":
+                return writeJpeg(image);
+            case "palette":
+                return writePng(toIndexed(image));
+            default:
+                return writePng(image);
+        }
+    }
+
+    private static BufferedImage downscale(BufferedImage source, double scale) {
+        int width = Math.max(1, (int) (source.getWidth() * scale));
+        int height = Math.max(1, (int) (source.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    private static BufferedImage toIndexed(BufferedImage source) {
+        BufferedImage indexed = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_BYTE_INDEXED);
+        Graphics2D graphics = indexed.createGraphics();
+        graphics.drawImage(source, 0, 0, null);
+        graphics.dispose();
+        return indexed;
+    }
+
+    private static byte[] writePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] writeJpeg(BufferedImage image) throws IOException {
+        BufferedImage rgb = image;
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static class WriterThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "screenshot-writer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
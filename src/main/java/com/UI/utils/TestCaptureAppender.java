@@ -0,0 +1,48 @@
+package com.UI.utils;
+
+import com.UI.context.TestContext;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+
+/**
+ * Log4j2 appender that routes events into the capture buffer of the
+ * {@link TestContext} bound to the logging thread
+ */
+@Plugin(name = "TestCapture", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public class TestCaptureAppender extends AbstractAppender {
+
+    private TestCaptureAppender(String name, Filter filter) {
+        super(name, filter, null, true, Property.EMPTY_ARRAY);
+    }
+
+    @PluginFactory
+    public static TestCaptureAppender createAppender(@PluginAttribute("name") String name,
+                                                     @PluginElement("Filter") Filter filter) {
+        return new TestCaptureAppender(name == null ? "TestCapture" : name, filter);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        TestContext context = TestContext.current();
+        TestLogBuffer buffer = context == null ? null : context.getLogBuffer();
+        if (buffer == null) {
+            return;
+        }
+        Message message = event.getMessage();
+        if (message instanceof ReusableMessage) {
+            // Reusable messages are recycled after append returns
+            message = ((ReusableMessage) message).memento();
+        }
+        buffer.add(event.getTimeMillis(), event.getLevel(), event.getLoggerName(), message, event.getThrown());
+    }
+}
@@ -0,0 +1,106 @@
+package com.UI.utils;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.Message;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity ring buffer of log events for a single test.
+ * Messages are stored unformatted and only rendered when read.
+ */
+public class TestLogBuffer {
+    private final AtomicReferenceArray<LogEvent> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final int capacity;
+
+    /**
+     * Constructor for TestLogBuffer
+     * @param capacity Maximum number of events kept; older events are overwritten
+     */
+    public TestLogBuffer(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Record an event without formatting it
+     * @param timestamp Event time in epoch milliseconds
+     * @param level Log level
+     * @param loggerName Name of the logger that produced the event
+     * @param message Unformatted message; must not be a reusable message instance
+     * @param throwable Attached throwable, may be null
+     */
+    public void add(long timestamp, Level level, String loggerName, Message message, Throwable throwable) {
+        long index = sequence.getAndIncrement();
+        slots.set((int) (index % capacity), new LogEvent(index, timestamp, level, loggerName, message, throwable));
+    }
+
+    /**
+     * Get number of events that were overwritten because the buffer was full
+     * @return Dropped event count
+     */
+    public long getDroppedCount() {
+        return Math.max(0, sequence.get() - capacity);
+    }
+
+    /**
+     * Format the retained events, oldest first
+     * @return Formatted log text
+     */
+    public String format() {
+        long end = sequence.get();
+        long start = Math.max(0, end - capacity);
+        StringBuilder builder = new StringBuilder();
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+        if (start > 0) {
+            builder.append("... ").append(start).append(" earlier log events dropped ...\n");
+        }
+        for (long i = start; i < end; i++) {
+            LogEvent event = slots.get((int) (i % capacity));
+            // Skip slots not yet published or already overwritten by a newer event
+            if (event == null || event.index != i) {
+                continue;
+            }
+            event.appendTo(builder, timeFormat);
+            builder.append('\n');
+        }
+        if (builder.length() > 0) {
+            builder.setLength(builder.length() - 1);
+        }
+        return builder.toString();
+    }
+
+    private static final class LogEvent {
+        private final long index;
+        private final long timestamp;
+        private final Level level;
+        private final String loggerName;
+        private final Message message;
+        private final Throwable throwable;
+
+        private LogEvent(long index, long timestamp, Level level, String loggerName, Message message,
+                         Throwable throwable) {
+            this.index = index;
+            this.timestamp = timestamp;
+            this.level = level;
+            this.loggerName = loggerName;
+            this.message = message;
+            this.throwable = throwable;
+        }
+
+        private void appendTo(StringBuilder builder, SimpleDateFormat timeFormat) {
+            builder.append(timeFormat.format(new Date(timestamp))).append(' ')
+                    .append(level.name()).append(' ')
+                    .append(loggerName.substring(loggerName.lastIndexOf('.') + 1)).append(" - ")
+                    .append(message.getFormattedMessage());
+            Throwable attached = throwable != null ? throwable : message.getThrowable();
+            if (attached != null) {
+                builder.append('\n').append(attached);
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.UI.utils;
 
 import com.UI.config.ConfigManager;
 import com.UI.drivers.DriverManager;
+import com.UI.metrics.Phase;
+import com.UI.metrics.PhaseTimer;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedCondition;
@@ -21,6 +23,8 @@ public class WaitUtil {
     private static final Logger LOGGER = LoggerUtil.getLogger(WaitUtil.class);
     private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
     private static final int DEFAULT_EXPLICIT_WAIT = CONFIG_MANAGER.getIntProperty("explicit.wait");
+    private static final int READY_POLL_MILLIS =
+            Integer.parseInt(CONFIG_MANAGER.getProperty("page.ready.poll.millis", "100"));
     private WaitUtil() {
         // Private constructor to prevent instantiation
     }
@@ -61,9 +65,11 @@ public class WaitUtil {
      * @return WebElement that is visible
      */
     public static WebElement waitForElementVisible(WebElement element) {
+        ScreenshotUtil.clearFailureFocus();
         try {
-            return getWait().until(ExpectedConditions.visibilityOf(element));
+            return until(getWait(), ExpectedConditions.visibilityOf(element));
         } catch (TimeoutException e) {
+            ScreenshotUtil.setFailureFocus(element);
             LOGGER.error("Element not visible after waiting: {}", element, e);
             throw e;
         }
@@ -75,9 +81,11 @@ public class WaitUtil {
      * @return WebElement that is visible
      */
     public static WebElement waitForElementVisible(By locator) {
+        ScreenshotUtil.clearFailureFocus();
         try {
-            return getWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
+            return until(getWait(), ExpectedConditions.visibilityOfElementLocated(locator));
         } catch (TimeoutException e) {
+            ScreenshotUtil.setFailureFocus(locator);
             LOGGER.error("Element not visible after waiting: {}", locator, e);
             throw e;
         }
@@ -89,9 +97,11 @@ public class WaitUtil {
      * @return WebElement that is clickable
      */
     public static WebElement waitForElementClickable(WebElement element) {
+        ScreenshotUtil.clearFailureFocus();
         try {
-            return getWait().until(ExpectedConditions.elementToBeClickable(element));
+            return until(getWait(), ExpectedConditions.elementToBeClickable(element));
         } catch (TimeoutException e) {
+            ScreenshotUtil.setFailureFocus(element);
             LOGGER.error("Element not clickable after waiting: {}", element, e);
             throw e;
         }
@@ -103,9 +113,11 @@ public class WaitUtil {
      * @return WebElement that is clickable
      */
     public static WebElement waitForElementClickable(By locator) {
+        ScreenshotUtil.clearFailureFocus();
         try {
-            return getWait().until(ExpectedConditions.elementToBeClickable(locator));
+            return until(getWait(), ExpectedConditions.elementToBeClickable(locator));
         } catch (TimeoutException e) {
+            ScreenshotUtil.setFailureFocus(locator);
             LOGGER.error("Element not clickable after waiting: {}", locator, e);
             throw e;
         }
@@ -117,9 +129,11 @@ public class WaitUtil {
      * @return WebElement that is present
      */
     public static WebElement waitForElementPresent(By locator) {
+        ScreenshotUtil.clearFailureFocus();
         try {
-            return getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
+            return until(getWait(), ExpectedConditions.presenceOfElementLocated(locator));
         } catch (TimeoutException e) {
+            ScreenshotUtil.setFailureFocus(locator);
             LOGGER.error("Element not present after waiting: {}", locator, e);
             throw e;
         }
@@ -133,7 +147,7 @@ public class WaitUtil {
      */
     public static <T> T waitForCondition(ExpectedCondition<T> condition) {
         try {
-            return getWait().until(condition);
+            return until(getWait(), condition);
         } catch (TimeoutException e) {
             LOGGER.error("Condition not met after waiting: {}", condition, e);
             throw e;
@@ -145,7 +159,7 @@ public class WaitUtil {
      */
     public static void waitForPageLoad() {
         try {
-            getWait().until(webDriver -> ((JavascriptExecutor) webDriver)
+            until(getWait(), webDriver -> ((JavascriptExecutor) webDriver)
                     .executeScript("return document.readyState").equals("complete"));
         } catch (TimeoutException e) {
             LOGGER.error("Page did not load completely after waiting", e);
@@ -153,6 +167,25 @@ public class WaitUtil {
         }
     }
 
+    /**
+     * Wait until a page reports ready, polling faster than the default explicit wait.
+     * Bounded by page.load.timeout since it replaces waiting for the full page load.
+     * @param condition Ready condition of the page
+     */
+    public static void waitForReady(ExpectedCondition<Boolean> condition) {
+        WebDriverWait wait = new WebDriverWait(DriverManager.getDriver(),
+                Duration.ofSeconds(CONFIG_MANAGER.getIntProperty("page.load.timeout")),
+                Duration.ofMillis(READY_POLL_MILLIS));
+        // Scripts can fail while the old document unloads
+        wait.ignoring(JavascriptException.class).ignoring(StaleElementReferenceException.class);
+        try {
+            until(wait, condition);
+        } catch (TimeoutException e) {
+            LOGGER.error("Page not ready after waiting for: {}", condition, e);
+            throw e;
+        }
+    }
+
     /**
      * Wait using fluent wait with custom function
      * @param timeoutInSeconds Timeout in seconds
@@ -162,19 +195,32 @@ public class WaitUtil {
      */
     public static <T> T fluentWait(int timeoutInSeconds, Function<WebDriver, T> function) {
         try {
-            return getFluentWait(timeoutInSeconds).until(function);
+            return until(getFluentWait(timeoutInSeconds), function);
         } catch (TimeoutException e) {
             LOGGER.error("Fluent wait condition not met after {} seconds", timeoutInSeconds, e);
             throw e;
         }
     }
 
+    /**
+     * Run a wait and record its duration as a WAIT phase
+     * @param wait Wait to run
+     * @param condition Condition to wait for
+     * @param <T> Return type of condition
+     * @return Result of condition
+     */
+    private static <T> T until(FluentWait<WebDriver> wait, Function<? super WebDriver, T> condition) {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.WAIT)) {
+            return wait.until(condition);
+        }
+    }
+
     /**
      * Wait for specified time
      * @param milliseconds Time to wait in milliseconds
      */
     public static void staticWait(long milliseconds) {
-        try {
+        try (PhaseTimer.Span ignored = PhaseTimer.start(Phase.WAIT)) {
             Thread.sleep(milliseconds);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -1,13 +1,29 @@
 package com.UI.base;
 
+import com.UI.auth.AuthStateCache;
 import com.UI.config.ConfigManager;
+import com.UI.context.TestContext;
 import com.UI.drivers.DriverManager;
+import com.UI.drivers.SharedChromeBrowser;
+import com.UI.listeners.RerunListener;
+import com.UI.metrics.CommandMetrics;
+import com.UI.metrics.PagePerformance;
+import com.UI.metrics.PhaseTimer;
+import com.UI.network.NetworkProfile;
+import com.UI.network.WithNetworkProfile;
 import com.UI.reports.ExtentReportManager;
+import com.UI.retry.InfrastructureRetryAnalyzer;
+import com.UI.retry.RetryEngine;
+import com.UI.tracing.Tracer;
 import com.UI.utils.KubernetesUtil;
 import com.UI.utils.LoggerUtil;
 import com.UI.utils.ExcelUtil;
+import com.UI.utils.ScreenshotStore;
+import com.UI.utils.ScreenshotWriter;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
@@ -20,8 +36,7 @@ import static com.UI.constants.FrameworkConstants.TEST_DATA_PATH;
 /**
  * Base test class that all test classes should extend
  */
-public class BaseTest {
-    protected WebDriver driver;
+public class BaseTest implements IHookable {
     protected final ConfigManager configManager = ConfigManager.getInstance();
     protected final Logger logger = LoggerUtil.getLogger(this.getClass());
 
@@ -29,12 +44,10 @@ public class BaseTest {
     //protected static final String DEFAULT_SHEET = "TestData";
 
     @BeforeSuite(alwaysRun = true)
-    public void setupSuite() throws InterruptedException {
-        /*System.out.println("Kubernetes Start");
-        KubernetesUtil.startSeleniumGrid();
-        Thread.sleep(20000);
-        System.out.println("Kubernetes Assigning Port");
+    public void setupSuite() {
+        /*KubernetesUtil.startSeleniumGrid();
         KubernetesUtil.assignPortToLocal();
+        KubernetesUtil.awaitGridReady();
         logger.info("Kubernetes Setup Done");*/
         ExtentReportManager.initReports();
         logger.info("Test Suite setup completed");
@@ -42,11 +55,21 @@ public class BaseTest {
 
 
     @BeforeMethod(alwaysRun = true)
-    public void setup(Method method, Object[] testData) {
+    public void setup(Method method, Object[] testData, ITestResult result) {
         // Get test method name and description
         String testName = method.getName();
         String testDescription = method.getAnnotation(Test.class) != null ?
                 method.getAnnotation(Test.class).description() : "";
+        // Everything started below registers its cleanup on the context, so tearDown
+        // releases exactly what was set up even if setup fails halfway
+        TestContext context = TestContext.open(getClass().getSimpleName() + "." + testName);
+        result.setAttribute(TestContext.RESULT_ATTRIBUTE, context);
+        String testId = LoggerUtil.startTestCapture(context);
+        PhaseTimer.beginTest(context, getClass().getSimpleName());
+        Tracer.startSpan("test " + getClass().getSimpleName() + "." + testName)
+                .setAttribute("test.id", testId)
+                .setAttribute("test.class", getClass().getName())
+                .setAttribute("test.method", testName);
 
         // Initialize test reporting
         if (testDescription.isEmpty()) {
@@ -61,27 +84,82 @@ public class BaseTest {
             logger.info("Test Parameters: {}", (Object[]) testData);
         }
 
+        selectNetworkProfile(method, result);
+
         // Initialize WebDriver
-        driver = DriverManager.initializeDriver();
+        DriverManager.initializeDriver();
+        // Registered after the driver so the page is captured before the driver quits
+        PagePerformance.beginTest(context);
+    }
+
+    /**
+     * Pick the network profile from @WithNetworkProfile on the method or class,
+     * else the network.profile suite parameter; network.profile in config applies otherwise
+     * @param method Test method
+     * @param result TestNG test result
+     */
+    private void selectNetworkProfile(Method method, ITestResult result) {
+        WithNetworkProfile annotation = method.isAnnotationPresent(WithNetworkProfile.class)
+                ? method.getAnnotation(WithNetworkProfile.class)
+                : getClass().getAnnotation(WithNetworkProfile.class);
+        String suiteProfile = result.getTestContext().getCurrentXmlTest().getParameter("network.profile");
+        if (annotation != null) {
+            NetworkProfile.selectForTest(annotation.value());
+        } else if (suiteProfile != null) {
+            NetworkProfile.selectForTest(suiteProfile);
+        }
+    }
+
+    /**
+     * Run the test body with its context bound, even if TestNG runs it on another thread (e.g. timeOut)
+     */
+    @Override
+    public void run(IHookCallBack callBack, ITestResult testResult) {
+        TestContext context = TestContext.of(testResult);
+        if (context == null) {
+            callBack.runTestMethod(testResult);
+            return;
+        }
+        try (TestContext.Scope ignored = context.bind()) {
+            RerunListener.markRerunInAllure(testResult);
+            callBack.runTestMethod(testResult);
+        }
     }
 
     @AfterMethod(alwaysRun = true)
     public void tearDown(ITestResult result) {
-        String testName = result.getMethod().getMethodName();
-        logTestResult(result);
-
-        // Cleanup
-        DriverManager.quitDriver();
-        ExtentReportManager.clearThreadLocal();
-        LoggerUtil.clearThreadLocalLogger();
+        TestContext context = TestContext.of(result);
+        if (context == null) {
+            logTestResult(result);
+            return;
+        }
+        try (TestContext.Scope ignored = context.bind()) {
+            logTestResult(result);
+            if (result.getStatus() == ITestResult.FAILURE) {
+                context.setFailure(result.getThrowable());
+            }
+        } finally {
+            // Quits the driver, releases the Grid slot and ends timings and the trace
+            context.close();
+        }
     }
 
     @AfterSuite(alwaysRun = true)
     public void tearDownSuite() {
+        ScreenshotWriter.shutdown(30);
+        ScreenshotStore.logMetrics();
+        AuthStateCache.logMetrics();
+        RetryEngine.logMetrics();
+        CommandMetrics.exportResults();
+        PhaseTimer.exportResults();
+        PagePerformance.exportResults();
+        InfrastructureRetryAnalyzer.exportResults();
+        Tracer.shutdown();
+        SharedChromeBrowser.shutdown();
         ExtentReportManager.flushReports();
         logger.info("Test Suite completed");
+        KubernetesUtil.stopPortForward();
         KubernetesUtil.stopSeleniumGrid();
-        System.out.println("Kubernetes Stopped");
     }
 
     /**
@@ -127,6 +205,15 @@ public class BaseTest {
         }
     }
 
+    /**
+     * Get the WebDriver of the running test. Methods of one class run in parallel on a shared
+     * instance, so the driver is held per thread by DriverManager rather than in a field.
+     * @return WebDriver instance
+     */
+    protected WebDriver driver() {
+        return DriverManager.getDriver();
+    }
+
     /**
      * Get base URL from configuration
      * @return Base URL
@@ -0,0 +1,73 @@
+package com.UI.benchmark;
+
+import com.UI.context.TestContext;
+import com.UI.drivers.ChromeLaunchProfile;
+import com.UI.drivers.ChromeUserDataTemplate;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.Arrays;
+
+/**
+ * Compares local Chrome start-up time of the default launch options with the fast profile,
+ * with and without a cloned user-data-dir template. Each launch is timed from driver creation
+ * to the first page being shown, with quit timed separately.
+ * The template clone uses browser.user.data.template from config.properties.
+ *
+ * Usage: ChromeStartupBenchmark [launches=5]
+ */
+public class ChromeStartupBenchmark {
+
+    public static void main(String[] args) {
+        int launches = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        WebDriverManager.chromedriver().setup();
+
+        // Warm-up so driver binary and class loading do not count against the first mode
+        run("warm-up", false, false, 1, false);
+        run("default", false, false, launches, true);
+        run("fast", true, false, launches, true);
+        if (ChromeUserDataTemplate.isConfigured()) {
+            run("fast+template", true, true, launches, true);
+        }
+    }
+
+    private static void run(String mode, boolean fast, boolean template, int launches, boolean print) {
+        long[] startMillis = new long[launches];
+        long[] quitMillis = new long[launches];
+        for (int i = 0; i < launches; i++) {
+            TestContext context = TestContext.open("startup-" + mode);
+            try (TestContext.Scope ignored = context.bind()) {
+                long start = System.nanoTime();
+                ChromeOptions options = new ChromeOptions().addArguments("--headless=new", "--no-sandbox",
+                        "--disable-dev-shm-usage");
+                if (fast) {
+                    ChromeLaunchProfile.apply(options);
+                }
+                if (template) {
+                    options.addArguments("--user-data-dir=" + ChromeUserDataTemplate.cloneForSession(options));
+                }
+                WebDriver driver = new ChromeDriver(options);
+                if (!fast) {
+                    driver.manage().window().maximize();
+                }
+                driver.get("about:blank");
+                startMillis[i] = (System.nanoTime() - start) / 1_000_000;
+                long quit = System.nanoTime();
+                driver.quit();
+                quitMillis[i] = (System.nanoTime() - quit) / 1_000_000;
+            } finally {
+                // Deletes the profile clone
+                context.close();
+            }
+        }
+        if (print) {
+            Arrays.sort(startMillis);
+            Arrays.sort(quitMillis);
+            System.out.printf("%-14s start p50 %5d ms  min %5d ms  max %5d ms  quit p50 %4d ms  (%d launches)%n",
+                    mode, startMillis[launches / 2], startMillis[0], startMillis[launches - 1],
+                    quitMillis[launches / 2], launches);
+        }
+    }
+}
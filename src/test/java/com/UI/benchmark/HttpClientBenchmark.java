@@ -0,0 +1,149 @@
+package com.UI.benchmark;
+
+import com.UI.drivers.RemoteHttpClientFactory;
+import com.UI.metrics.LatencyHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Compares per-command latency and connections opened for RemoteWebDriver sessions using
+ * Selenium's default HTTP client and the shared RemoteHttpClientFactory, against a stub
+ * WebDriver endpoint that answers immediately.
+ *
+ * Usage: HttpClientBenchmark [sessions=20] [commandsPerSession=200] [parallel=4]
+ */
+public class HttpClientBenchmark {
+    private static final Set<String> CONNECTIONS = ConcurrentHashMap.newKeySet();
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int commands = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int parallel = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        HttpServer server = startStubServer();
+        URL hubUrl = new URL("http://localhost:" + server.getAddress().getPort());
+        RemoteHttpClientFactory shared = new RemoteHttpClientFactory(HttpClient.Version.HTTP_1_1, Duration.ofSeconds(10), 2);
+        Function<ChromeOptions, WebDriver> defaultClient = options -> new RemoteWebDriver(hubUrl, options);
+        Function<ChromeOptions, WebDriver> sharedClient = options -> new RemoteWebDriver(new HttpCommandExecutor(
+                Collections.emptyMap(), RemoteHttpClientFactory.clientConfig(hubUrl), shared), options);
+        try {
+            // Warm-up so class loading and JIT do not count against the first mode
+            run("warm-up", defaultClient, Math.min(sessions, 5), commands, parallel, false);
+            run("warm-up", sharedClient, Math.min(sessions, 5), commands, parallel, false);
+            run("default", defaultClient, sessions, commands, parallel, true);
+            run("shared", sharedClient, sessions, commands, parallel, true);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void run(String mode, Function<ChromeOptions, WebDriver> driverFactory, int sessions, int commands,
+                            int parallel, boolean print) throws InterruptedException {
+        CONNECTIONS.clear();
+        LatencyHistogram commandTimes = new LatencyHistogram();
+        LatencyHistogram sessionStarts = new LatencyHistogram();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(sessions);
+        ExecutorService executor = Executors.newFixedThreadPool(parallel);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            executor.execute(() -> {
+                try {
+                    long sessionStart = System.nanoTime();
+                    WebDriver driver = driverFactory.apply(new ChromeOptions());
+                    sessionStarts.recordNanos(System.nanoTime() - sessionStart);
+                    try {
+                        for (int c = 0; c < commands; c++) {
+                            long commandStart = System.nanoTime();
+                            driver.getCurrentUrl();
+                            commandTimes.recordNanos(System.nanoTime() - commandStart);
+                        }
+                    } finally {
+                        driver.quit();
+                    }
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        executor.shutdown();
+
+        if (print) {
+            System.out.printf("%s: %d sessions x %d commands (%d parallel) in %d ms, command p50=%d us p99=%d us, "
+                            + "new session p50=%d us, connections=%d, failures=%d%n",
+                    mode, sessions, commands, parallel, elapsedMillis,
+                    commandTimes.getPercentileMicros(50), commandTimes.getPercentileMicros(99),
+                    sessionStarts.getPercentileMicros(50), CONNECTIONS.size(), failures.get());
+        }
+    }
+
+    /**
+     * Minimal W3C endpoint: new session, get URL and delete session. Each distinct client
+     * address is one TCP connection, so their count shows how well connections are reused.
+     */
+    private static HttpServer startStubServer() throws IOException {
+        // Without TCP_NODELAY, delayed ACKs add ~40 ms to every response and hide client differences
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-hub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext("/session", exchange -> {
+            CONNECTIONS.add(exchange.getRemoteAddress().toString());
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            String body;
+            if ("POST".equals(exchange.getRequestMethod()) && "/session".equals(path)) {
+                body = "{\"value\":{\"sessionId\":\"" + UUID.randomUUID()
+                        + "\",\"capabilities\":{\"browserName\":\"chrome\"}}}";
+            } else if (path.endsWith("/url")) {
+                body = "{\"value\":\"about:blank\"}";
+            } else {
+                body = "{\"value\":null}";
+            }
+            respond(exchange, body);
+        });
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.UI.benchmark;
+
+import com.UI.utils.LoggerUtil;
+import com.UI.utils.TestLogBuffer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+
+/**
+ * Measures the passing-path cost of test logging: calls at a disabled level and events
+ * recorded into a {@link TestLogBuffer} that is never read, against formatting every message.
+ * The buffer is only formatted when a test fails, which is timed separately.
+ *
+ * Usage: LoggingBenchmark [calls=2000000] [capacity=512]
+ */
+public class LoggingBenchmark {
+    private static final Logger LOGGER = LoggerUtil.getLogger(LoggingBenchmark.class);
+
+    // Keeps results reachable so the JIT cannot drop the measured work
+    private static long sink;
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 512;
+
+        // Warm-up so JIT compilation does not count against the first case
+        for (int round = 0; round < 2; round++) {
+            boolean print = round == 1;
+            measure("static logger, disabled", calls, print, i -> LOGGER.debug("Clicked on element: {}", i));
+            measure("LoggerUtil.debug, disabled", calls, print, i -> LoggerUtil.debug("Clicked on element: {}", i));
+            measure("LoggerUtil.debug(Class), disabled", calls, print,
+                    i -> LoggerUtil.debug(LoggingBenchmark.class, "Clicked on element: {}", i));
+            measure("caller lookup per call", calls, print,
+                    i -> LoggerUtil.getLogger().debug("Clicked on element: {}", i));
+
+            TestLogBuffer buffer = new TestLogBuffer(capacity);
+            measure("buffer add, unformatted", calls, print, i -> buffer.add(i, Level.INFO, "com.UI.pages.LoginPage",
+                    new ParameterizedMessage("Entered text '{}' into element: {}", "user" + (i & 7), i), null));
+            measure("format every message", calls, print, i -> {
+                Message message = new ParameterizedMessage("Entered text '{}' into element: {}", "user" + (i & 7), i);
+                sink += message.getFormattedMessage().length();
+            });
+            int failures = Math.max(1, calls / 10_000);
+            measure("buffer format on failure", failures, print, i -> sink += buffer.format().length());
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static void measure(String name, int calls, boolean print, Call call) {
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            call.run(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (print) {
+            System.out.printf("%-36s %9.1f ns/call over %d call(s)%n", name, (double) elapsed / calls, calls);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        void run(int i);
+    }
+}
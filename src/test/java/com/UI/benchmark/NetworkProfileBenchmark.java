@@ -0,0 +1,113 @@
+package com.UI.benchmark;
+
+import com.UI.network.NetworkConditioner;
+import com.UI.network.NetworkProfile;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+
+/**
+ * Measures page load time with and without a network profile on a local page whose
+ * third-party script, web font and images are served slowly.
+ * Pass a hub URL to run on a Grid; the page host must then be reachable from the node.
+ *
+ * Usage: NetworkProfileBenchmark [iterations=5] [assetDelayMillis=800] [hubUrl]
+ */
+public class NetworkProfileBenchmark {
+    private static final String PAGE = "<!DOCTYPE html><html><head><title>Login</title>"
+            + "<script src=\"/ads/analytics.js\"></script>"
+            + "<style>@font-face{font-family:Brand;src:url(/fonts/brand.woff2)}body{font-family:Brand}</style>"
+            + "</head><body><form><input id=\"username\"><input id=\"password\" type=\"password\">"
+            + "<button>Login</button></form><img src=\"/img/hero.png\"><img src=\"/img/banner.png\">"
+            + "</body></html>";
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int assetDelay = args.length > 1 ? Integer.parseInt(args[1]) : 800;
+        String hubUrl = args.length > 2 ? args[2] : null;
+
+        HttpServer server = startPageServer(assetDelay);
+        String pageUrl = "http://" + (hubUrl == null ? "localhost" : hostName()) + ":"
+                + server.getAddress().getPort() + "/login";
+        NetworkProfile blocking = new NetworkProfile("benchmark", Arrays.asList("*/ads/*"), true, true, 0, -1, -1);
+        try {
+            run(NetworkProfile.NONE, pageUrl, hubUrl, iterations);
+            run(blocking, pageUrl, hubUrl, iterations);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void run(NetworkProfile profile, String pageUrl, String hubUrl, int iterations) throws IOException {
+        ChromeOptions options = new ChromeOptions().addArguments("--headless=new", "--no-sandbox",
+                "--disable-dev-shm-usage");
+        NetworkConditioner.configure(options, profile);
+        WebDriver driver;
+        if (hubUrl == null) {
+            WebDriverManager.chromedriver().setup();
+            driver = new ChromeDriver(options);
+        } else {
+            driver = new RemoteWebDriver(new URL(hubUrl), options);
+        }
+        try {
+            NetworkConditioner.apply(driver, profile);
+            long total = 0;
+            for (int i = 0; i < iterations; i++) {
+                driver.get(pageUrl);
+                Number loadMillis = (Number) ((JavascriptExecutor) driver).executeScript(
+                        "var nav = performance.getEntriesByType('navigation')[0];"
+                                + "return nav.loadEventEnd - nav.startTime;");
+                total += loadMillis.longValue();
+            }
+            System.out.printf("%-10s avg load %5d ms over %d navigation(s)  %s%n",
+                    profile.getName(), total / iterations, iterations, profile);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static HttpServer startPageServer(int assetDelay) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/login", exchange -> respond(exchange, "text/html", PAGE.getBytes(StandardCharsets.UTF_8), 0));
+        server.createContext("/ads/", exchange -> respond(exchange, "application/javascript",
+                "window.tracked = true;".getBytes(StandardCharsets.UTF_8), assetDelay));
+        server.createContext("/fonts/", exchange -> respond(exchange, "font/woff2", new byte[2048], assetDelay));
+        server.createContext("/img/", exchange -> respond(exchange, "image/png", new byte[4096], assetDelay));
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, byte[] body, int delayMillis)
+            throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.getResponseHeaders().add("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String hostName() throws IOException {
+        return InetAddress.getLocalHost().getHostAddress();
+    }
+}
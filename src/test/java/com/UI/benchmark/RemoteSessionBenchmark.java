@@ -0,0 +1,136 @@
+package com.UI.benchmark;
+
+import com.UI.execution.VirtualThreads;
+import com.UI.metrics.LatencyHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares platform and virtual worker threads for many concurrent RemoteWebDriver
+ * sessions against a stub WebDriver endpoint that only adds latency.
+ *
+ * Usage: RemoteSessionBenchmark [sessions=200] [commandsPerSession=20] [latencyMillis=50]
+ */
+public class RemoteSessionBenchmark {
+    private static final ScheduledExecutorService RESPONDER = Executors.newSingleThreadScheduledExecutor();
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int commands = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int latencyMillis = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        HttpServer server = startStubServer(latencyMillis);
+        URL hubUrl = new URL("http://localhost:" + server.getAddress().getPort());
+        try {
+            // Warm-up so class loading does not count against the first mode
+            run("warm-up", Executors.defaultThreadFactory(), hubUrl, Math.min(sessions, 10), commands, false);
+            run("platform", Executors.defaultThreadFactory(), hubUrl, sessions, commands, true);
+            if (VirtualThreads.isSupported()) {
+                run("virtual", VirtualThreads.newThreadFactory("bench-"), hubUrl, sessions, commands, true);
+            } else {
+                System.out.println("virtual: skipped, Java " + System.getProperty("java.version")
+                        + " has no virtual threads");
+            }
+        } finally {
+            server.stop(0);
+            RESPONDER.shutdownNow();
+        }
+    }
+
+    private static void run(String mode, ThreadFactory threadFactory, URL hubUrl, int sessions, int commands,
+                            boolean print) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        LatencyHistogram sessionTimes = new LatencyHistogram();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(sessions);
+        ExecutorService executor = Executors.newFixedThreadPool(sessions, threadFactory);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            executor.execute(() -> {
+                long sessionStart = System.nanoTime();
+                try {
+                    WebDriver driver = new RemoteWebDriver(hubUrl, new ChromeOptions());
+                    try {
+                        for (int c = 0; c < commands; c++) {
+                            driver.getCurrentUrl();
+                        }
+                    } finally {
+                        driver.quit();
+                    }
+                    sessionTimes.recordNanos(System.nanoTime() - sessionStart);
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        executor.shutdown();
+
+        if (print) {
+            System.out.printf("%s: %d sessions x %d commands in %d ms, session p50=%d ms p95=%d ms, "
+                            + "failures=%d, peak platform threads=%d%n",
+                    mode, sessions, commands, elapsedMillis,
+                    sessionTimes.getPercentileMicros(50) / 1000, sessionTimes.getPercentileMicros(95) / 1000,
+                    failures.get(), threads.getPeakThreadCount());
+        }
+    }
+
+    /**
+     * Minimal W3C endpoint: new session, get URL and delete session.
+     * Responses are delayed on a scheduler so the stub itself holds no thread per request.
+     */
+    private static HttpServer startStubServer(int latencyMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext("/session", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            String body;
+            if ("POST".equals(exchange.getRequestMethod()) && "/session".equals(path)) {
+                body = "{\"value\":{\"sessionId\":\"" + UUID.randomUUID()
+                        + "\",\"capabilities\":{\"browserName\":\"chrome\"}}}";
+            } else if (path.endsWith("/url")) {
+                body = "{\"value\":\"about:blank\"}";
+            } else {
+                body = "{\"value\":null}";
+            }
+            RESPONDER.schedule(() -> respond(exchange, body), latencyMillis, TimeUnit.MILLISECONDS);
+        });
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.UI.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Property overrides for unit tests that remember the values they replace, so a test can put
+ * {@link ConfigManager} back the way it found it and the suite does not depend on test order
+ */
+public class ConfigOverrides {
+    private static final ConfigManager CONFIG_MANAGER = ConfigManager.getInstance();
+
+    // Value before the first override of each key; null when the key was not set
+    private final Map<String, String> previous = new LinkedHashMap<>();
+
+    /**
+     * Override a property until {@link #restore()}
+     * @param key Property key
+     * @param value New value
+     */
+    public void set(String key, String value) {
+        if (!previous.containsKey(key)) {
+            previous.put(key, CONFIG_MANAGER.getProperty(key));
+        }
+        CONFIG_MANAGER.setProperty(key, value);
+    }
+
+    /**
+     * Put back every property overridden since the last restore
+     */
+    public void restore() {
+        previous.forEach(CONFIG_MANAGER::setProperty);
+        previous.clear();
+    }
+}
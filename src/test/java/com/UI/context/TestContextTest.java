@@ -0,0 +1,96 @@
+package com.UI.context;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link TestContext} binding and cleanup
+ */
+public class TestContextTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void unbind() {
+        TestContext context = TestContext.current();
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    public void closeRunsCleanupMostRecentFirst() {
+        List<String> order = new ArrayList<>();
+        TestContext context = TestContext.open("cleanup order");
+        context.onClose(() -> order.add("driver"));
+        context.onClose(() -> {
+            throw new IllegalStateException("failing cleanup");
+        });
+        context.onClose(() -> order.add("report"));
+
+        context.close();
+        context.close();
+
+        // The failing cleanup does not stop the others, and a second close runs nothing
+        Assert.assertEquals(order, Arrays.asList("report", "driver"));
+        Assert.assertTrue(context.isClosed());
+        Assert.assertNull(TestContext.current());
+    }
+
+    @Test
+    public void cleanupRegisteredAfterCloseRunsImmediately() {
+        List<String> order = new ArrayList<>();
+        TestContext context = TestContext.open("late cleanup");
+        context.close();
+
+        context.onClose(() -> order.add("late"));
+
+        Assert.assertEquals(order, Arrays.asList("late"));
+    }
+
+    @Test
+    public void cleanupRunsWithTheContextBound() {
+        TestContext context = TestContext.open("bound cleanup");
+        TestContext[] seen = new TestContext[1];
+        context.onClose(() -> seen[0] = TestContext.current());
+
+        context.close();
+
+        Assert.assertSame(seen[0], context);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "no TestContext bound")
+    public void requireFailsWithoutAContext() {
+        TestContext.require();
+    }
+
+    @Test
+    public void bindRestoresThePreviousContext() {
+        TestContext outer = TestContext.open("outer");
+        TestContext inner = TestContext.open("inner");
+        try (TestContext.Scope ignored = outer.bind()) {
+            Assert.assertSame(TestContext.require(), outer);
+        }
+        Assert.assertSame(TestContext.current(), inner);
+        inner.close();
+        outer.close();
+    }
+
+    @Test
+    public void wrapBindsTheContextOnAnotherThread() throws Exception {
+        TestContext context = TestContext.open("wrapped");
+
+        TestContext onWorker = CompletableFuture.supplyAsync(context.wrap(TestContext::current))
+                .get(5, TimeUnit.SECONDS);
+        TestContext unwrapped = CompletableFuture.supplyAsync(TestContext::current).get(5, TimeUnit.SECONDS);
+
+        Assert.assertSame(onWorker, context);
+        Assert.assertNull(unwrapped);
+        Assert.assertNotEquals(context.getTestId(), TestContext.open("wrapped").getTestId());
+    }
+}
@@ -0,0 +1,137 @@
+package com.UI.grid;
+
+import com.UI.config.ConfigOverrides;
+import com.UI.context.TestContext;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Unit tests for the concurrency limit of {@link GridCapacityMonitor} against a {@link StubGridHub}
+ */
+public class GridCapacityMonitorTest {
+    private final ConfigOverrides config = new ConfigOverrides();
+    private StubGridHub hub;
+
+    @BeforeMethod
+    public void startHub() throws IOException {
+        config.set("grid.slot.wait.seconds", "30");
+        hub = new StubGridHub(0, 2, 0, "chrome");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopHub() {
+        GridCapacityMonitor.stop();
+        hub.close();
+        config.restore();
+    }
+
+    @Test
+    public void limitIsFreeSlots() {
+        GridCapacity capacity = GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome");
+
+        Assert.assertEquals(capacity.getTotalSlots(), 2);
+        Assert.assertEquals(GridCapacityMonitor.getLimit(), 2);
+    }
+
+    @Test
+    public void sessionsOfOtherClientsReduceTheLimit() {
+        hub.setSlots(3);
+        hub.setBusySlots(2);
+
+        GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome");
+
+        Assert.assertEquals(GridCapacityMonitor.getLimit(), 1);
+    }
+
+    @Test
+    public void limitIsAtLeastOneWhenTheGridIsFull() {
+        hub.setBusySlots(2);
+
+        GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome");
+
+        Assert.assertEquals(GridCapacityMonitor.getLimit(), 1);
+    }
+
+    @Test
+    public void unreachableHubKeepsTheLimit() {
+        hub.close();
+
+        Assert.assertNull(GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome"));
+        Assert.assertEquals(GridCapacityMonitor.getLimit(), Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void acquireBlocksUntilASlotIsReleased() throws Exception {
+        GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome");
+        TestContext first = openWithSlot("first");
+        TestContext second = openWithSlot("second");
+
+        CompletableFuture<TestContext> third = CompletableFuture.supplyAsync(() -> openWithSlot("third"));
+        try {
+            third.get(300, TimeUnit.MILLISECONDS);
+            Assert.fail("Third session started while both slots were held");
+        } catch (TimeoutException expected) {
+            // Waiting for a slot
+        }
+
+        first.close();
+        third.get(5, TimeUnit.SECONDS).close();
+        second.close();
+    }
+
+    @Test
+    public void acquireIsIdempotentWithinATest() throws Exception {
+        hub.setSlots(1);
+        GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome");
+        TestContext context = openWithSlot("retried session");
+        try (TestContext.Scope ignored = context.bind()) {
+            // A second session attempt in the same test must not wait on its own slot
+            GridCapacityMonitor.acquireSlot();
+        }
+        context.close();
+
+        // The one slot is free again after the test closed
+        CompletableFuture.supplyAsync(() -> openWithSlot("next")).get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    public void acquireGivesUpAfterTheSlotWait() throws Exception {
+        config.set("grid.slot.wait.seconds", "0");
+        hub.setSlots(1);
+        GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome");
+        TestContext first = openWithSlot("first");
+
+        // Lets the hub queue the request instead of blocking the worker
+        CompletableFuture.supplyAsync(() -> openWithSlot("over limit")).get(5, TimeUnit.SECONDS).close();
+        first.close();
+    }
+
+    @Test
+    public void stopReleasesWaiters() throws Exception {
+        hub.setSlots(1);
+        GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome");
+        TestContext first = openWithSlot("first");
+        CompletableFuture<TestContext> waiting = CompletableFuture.supplyAsync(() -> openWithSlot("waiting"));
+
+        GridCapacityMonitor.stop();
+
+        waiting.get(5, TimeUnit.SECONDS).close();
+        first.close();
+    }
+
+    /**
+     * Open a context on the calling thread and acquire a slot for it; closing the context releases the slot
+     */
+    private static TestContext openWithSlot(String name) {
+        TestContext context = TestContext.open(name);
+        GridCapacityMonitor.acquireSlot();
+        return context;
+    }
+}
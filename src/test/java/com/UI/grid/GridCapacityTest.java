@@ -0,0 +1,70 @@
+package com.UI.grid;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * Unit tests for {@link GridCapacity} against the /status documents of a {@link StubGridHub}
+ */
+public class GridCapacityTest {
+    private StubGridHub hub;
+
+    @BeforeMethod
+    public void startHub() throws IOException {
+        hub = new StubGridHub(0, 4, 0, "chrome");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopHub() {
+        hub.close();
+    }
+
+    @Test
+    public void countsSlotsAcrossNodes() throws IOException {
+        hub.setNodes(2);
+        hub.setBusySlots(1);
+
+        GridCapacity capacity = GridCapacity.fromStatus(new GridStatusClient(hub.getUrl()).getStatus(), "chrome");
+
+        Assert.assertEquals(capacity.getTotalSlots(), 4);
+        Assert.assertEquals(capacity.getBusySlots(), 1);
+        Assert.assertEquals(capacity.getFreeSlots(), 3);
+    }
+
+    @Test
+    public void ignoresSlotsOfOtherBrowsers() throws IOException {
+        GridCapacity capacity = GridCapacity.fromStatus(new GridStatusClient(hub.getUrl()).getStatus(), "firefox");
+
+        Assert.assertEquals(capacity.getTotalSlots(), 0);
+    }
+
+    @Test
+    public void hasNoSlotsWhileNodesAreStarting() throws IOException {
+        try (StubGridHub starting = new StubGridHub(0, 4, 60_000, "chrome")) {
+            GridCapacity capacity = GridCapacity.fromStatus(new GridStatusClient(starting.getUrl()).getStatus(), "chrome");
+
+            Assert.assertEquals(capacity.getTotalSlots(), 0);
+        }
+    }
+
+    @Test
+    public void boundsNodeByMaxSessionsIncludingOtherBrowsers() throws IOException {
+        // Two chrome slots and one busy firefox slot on a node that runs at most two sessions
+        String status = "{\"nodes\":[{\"availability\":\"UP\",\"maxSessions\":2,\"slots\":["
+                + "{\"stereotype\":{\"browserName\":\"chrome\"},\"session\":null},"
+                + "{\"stereotype\":{\"browserName\":\"chrome\"},\"session\":null},"
+                + "{\"stereotype\":{\"browserName\":\"firefox\"},\"session\":{\"sessionId\":\"f\"}}]},"
+                + "{\"availability\":\"DOWN\",\"maxSessions\":5,\"slots\":["
+                + "{\"stereotype\":{\"browserName\":\"chrome\"},\"session\":null}]}]}";
+
+        GridCapacity capacity = GridCapacity.fromStatus(new ObjectMapper().readTree(status), "chrome");
+
+        Assert.assertEquals(capacity.getTotalSlots(), 1);
+        Assert.assertEquals(capacity.getBusySlots(), 0);
+    }
+}
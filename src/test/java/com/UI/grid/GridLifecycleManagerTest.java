@@ -0,0 +1,119 @@
+package com.UI.grid;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Unit tests for {@link GridLifecycleManager} against a {@link StubGridHub} with delayed nodes
+ */
+public class GridLifecycleManagerTest {
+    private static final String START = "kubectl create -f grid.yaml";
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    public void launchIsSkippedWhenTheHubIsAlreadyReady() throws IOException {
+        RecordingCommandRunner runner = new RecordingCommandRunner();
+        try (StubGridHub hub = new StubGridHub(0, 2, 0, "chrome")) {
+            GridLifecycleManager manager = new GridLifecycleManager(runner, new GridStatusClient(hub.getUrl()), COMMAND_TIMEOUT);
+
+            GridCapacity capacity = manager.start(START, "chrome", 1, Duration.ofSeconds(5));
+
+            Assert.assertEquals(capacity.getTotalSlots(), 2);
+            Assert.assertEquals(runner.getCommands(), Collections.emptyList());
+            Assert.assertFalse(manager.isStarted());
+        }
+    }
+
+    @Test
+    public void launchRunsTheStartCommandWhenSlotsAreMissing() throws IOException {
+        RecordingCommandRunner runner = new RecordingCommandRunner();
+        try (StubGridHub hub = new StubGridHub(0, 2, 0, "chrome")) {
+            hub.setBusySlots(2);
+            GridLifecycleManager manager = new GridLifecycleManager(runner, new GridStatusClient(hub.getUrl()), COMMAND_TIMEOUT);
+
+            manager.launch(START, "chrome", 1);
+
+            Assert.assertEquals(runner.getCommands(), Collections.singletonList(START));
+            Assert.assertTrue(manager.isStarted());
+        }
+    }
+
+    @Test
+    public void failedStartCommandIsReported() throws IOException {
+        RecordingCommandRunner runner = new RecordingCommandRunner(command -> new CommandResult(1, "forbidden", false));
+        try (StubGridHub hub = new StubGridHub(0, 2, 60_000, "chrome")) {
+            GridLifecycleManager manager = new GridLifecycleManager(runner, new GridStatusClient(hub.getUrl()), COMMAND_TIMEOUT);
+
+            RuntimeException failure = Assert.expectThrows(RuntimeException.class,
+                    () -> manager.launch(START, "chrome", 1));
+
+            Assert.assertTrue(failure.getMessage().contains("forbidden"), failure.getMessage());
+            Assert.assertFalse(manager.isStarted());
+        }
+    }
+
+    @Test
+    public void awaitReadySucceedsOnceNodesComeUp() throws IOException {
+        RecordingCommandRunner runner = new RecordingCommandRunner();
+        try (StubGridHub hub = new StubGridHub(0, 3, 1_000, "chrome")) {
+            GridLifecycleManager manager = new GridLifecycleManager(runner, new GridStatusClient(hub.getUrl()), COMMAND_TIMEOUT);
+            long start = System.nanoTime();
+
+            GridCapacity capacity = manager.start(START, "chrome", 3, Duration.ofSeconds(10));
+
+            Assert.assertEquals(runner.getCommands(), Collections.singletonList(START));
+            Assert.assertEquals(capacity.getFreeSlots(), 3);
+            Assert.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 900,
+                    "Returned before the nodes were up");
+        }
+    }
+
+    @Test
+    public void awaitReadyTimeoutDescribesTheLastStatus() throws IOException {
+        try (StubGridHub hub = new StubGridHub(0, 2, 60_000, "chrome")) {
+            GridLifecycleManager manager = new GridLifecycleManager(new RecordingCommandRunner(),
+                    new GridStatusClient(hub.getUrl()), COMMAND_TIMEOUT);
+
+            RuntimeException failure = Assert.expectThrows(RuntimeException.class,
+                    () -> manager.awaitReady("chrome", 2, Duration.ofSeconds(1)));
+
+            String message = failure.getMessage();
+            Assert.assertTrue(message.contains(hub.getUrl()), message);
+            Assert.assertTrue(message.contains("need 2 free chrome slot(s)"), message);
+            Assert.assertTrue(message.contains("ready=false"), message);
+            Assert.assertTrue(message.contains("nodes=0"), message);
+            Assert.assertTrue(message.contains("last error: none"), message);
+        }
+    }
+
+    @Test
+    public void awaitReadyTimeoutReportsAnUnreachableHub() throws IOException {
+        StubGridHub hub = new StubGridHub(0, 2, 0, "chrome");
+        hub.close();
+        GridLifecycleManager manager = new GridLifecycleManager(new RecordingCommandRunner(),
+                new GridStatusClient(hub.getUrl()), COMMAND_TIMEOUT);
+
+        RuntimeException failure = Assert.expectThrows(RuntimeException.class,
+                () -> manager.awaitReady("chrome", 1, Duration.ofMillis(500)));
+
+        String message = failure.getMessage();
+        Assert.assertTrue(message.contains("last status: none"), message);
+        Assert.assertTrue(message.contains("ConnectException"), message);
+    }
+
+    @Test
+    public void stopFailureIsNotThrown() {
+        RecordingCommandRunner runner = new RecordingCommandRunner(command -> new CommandResult(-1, "", true));
+        GridLifecycleManager manager = new GridLifecycleManager(runner,
+                new GridStatusClient("http://localhost:1"), COMMAND_TIMEOUT);
+
+        manager.stop("kubectl delete -f grid.yaml");
+
+        Assert.assertEquals(runner.getCommands(), Collections.singletonList("kubectl delete -f grid.yaml"));
+        Assert.assertFalse(manager.isStarted());
+    }
+}
@@ -0,0 +1,194 @@
+package com.UI.grid;
+
+import com.UI.config.ConfigOverrides;
+import com.UI.context.TestContext;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link GridScalingController} with a {@link RecordingCommandRunner} and a {@link StubGridHub}
+ */
+public class GridScalingControllerTest {
+    private static final String SCALE = "kubectl scale deployment/selenium-node-{browser} --replicas={replicas}";
+
+    private final ConfigOverrides config = new ConfigOverrides();
+    private StubGridHub hub;
+    private RecordingCommandRunner runner;
+
+    @BeforeMethod
+    public void startHub() throws IOException {
+        // One node with five slots is running
+        hub = new StubGridHub(0, 5, 0, "chrome");
+        runner = new RecordingCommandRunner();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopHub() {
+        GridCapacityMonitor.stop();
+        hub.close();
+        config.restore();
+    }
+
+    @Test
+    public void scalesUpToPendingTestsAtOnce() {
+        GridScalingController controller = controller(1, 4, Duration.ofMinutes(1));
+        controller.setPendingTests(12);
+
+        controller.evaluate();
+
+        Assert.assertEquals(runner.getCommands(), scaledTo(3));
+        Assert.assertEquals(controller.getCurrentNodes(), 3);
+    }
+
+    @Test
+    public void scalesUpToQueuedAndBusySessions() {
+        GridScalingController controller = controller(1, 4, Duration.ofMinutes(1));
+        hub.setBusySlots(5);
+        hub.setQueuedSessions(4);
+
+        controller.evaluate();
+
+        Assert.assertEquals(runner.getCommands(), scaledTo(2));
+    }
+
+    @Test
+    public void sessionsWaitingForASlotCountAsDemand() throws Exception {
+        config.set("grid.slot.wait.seconds", "30");
+        hub.setBusySlots(5);
+        GridCapacityMonitor.start(new GridStatusClient(hub.getUrl()), "chrome");
+        List<CompletableFuture<TestContext>> waiting = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            TestContext context = TestContext.open("waiting " + i);
+            waiting.add(CompletableFuture.supplyAsync(context.wrap(() -> {
+                GridCapacityMonitor.acquireSlot();
+                return context;
+            })));
+        }
+        // The limit is one slot, so one test holds it and six wait
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (GridCapacityMonitor.getWaitingCount() < 6 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        GridScalingController controller = controller(1, 4, Duration.ofMinutes(1));
+
+        controller.evaluate();
+
+        // Five busy slots plus six waiting sessions need three nodes
+        Assert.assertEquals(runner.getCommands(), scaledTo(3));
+        GridCapacityMonitor.stop();
+        for (CompletableFuture<TestContext> future : waiting) {
+            future.get(5, TimeUnit.SECONDS).close();
+        }
+    }
+
+    @Test
+    public void clampsToMaxNodes() {
+        GridScalingController controller = controller(1, 4, Duration.ofMinutes(1));
+        controller.setPendingTests(100);
+
+        controller.evaluate();
+
+        Assert.assertEquals(runner.getCommands(), scaledTo(4));
+    }
+
+    @Test
+    public void scalesUpToMinNodesWithoutDemand() {
+        GridScalingController controller = controller(2, 4, Duration.ofMinutes(1));
+
+        controller.evaluate();
+
+        Assert.assertEquals(runner.getCommands(), scaledTo(2));
+    }
+
+    @Test
+    public void scalesDownOnlyAfterTheDelay() throws InterruptedException {
+        hub.setSlots(15);
+        hub.setNodes(3);
+        GridScalingController controller = controller(1, 4, Duration.ofMillis(300));
+        controller.setPendingTests(4);
+
+        controller.evaluate();
+        Assert.assertEquals(runner.getCommands(), Collections.emptyList());
+        Thread.sleep(100);
+        controller.evaluate();
+        Assert.assertEquals(runner.getCommands(), Collections.emptyList());
+        Thread.sleep(300);
+        controller.evaluate();
+
+        Assert.assertEquals(runner.getCommands(), scaledTo(1));
+        Assert.assertEquals(controller.getCurrentNodes(), 1);
+    }
+
+    @Test
+    public void risingDemandResetsTheScaleDownDelay() throws InterruptedException {
+        hub.setSlots(10);
+        hub.setNodes(2);
+        GridScalingController controller = controller(1, 4, Duration.ofMillis(300));
+
+        controller.evaluate();
+        Thread.sleep(200);
+        controller.setPendingTests(10);
+        controller.evaluate();
+        controller.setPendingTests(0);
+        Thread.sleep(200);
+        controller.evaluate();
+
+        Assert.assertEquals(runner.getCommands(), Collections.emptyList());
+    }
+
+    @Test
+    public void failedScaleCommandKeepsTheNodeCount() {
+        runner = new RecordingCommandRunner(command -> new CommandResult(1, "forbidden", false));
+        GridScalingController controller = controller(1, 4, Duration.ofMinutes(1));
+        controller.setPendingTests(10);
+
+        controller.evaluate();
+
+        Assert.assertEquals(runner.getCommands(), scaledTo(2));
+        Assert.assertEquals(controller.getCurrentNodes(), 1);
+    }
+
+    @Test
+    public void stopScalesBackToMinNodes() {
+        GridScalingController controller = controller(1, 4, Duration.ofMinutes(1));
+        controller.setPendingTests(20);
+        controller.evaluate();
+
+        controller.stop();
+
+        Assert.assertEquals(runner.getCommands(), Arrays.asList(scaledTo(4).get(0), scaledTo(1).get(0)));
+        Assert.assertEquals(controller.getCurrentNodes(), 1);
+    }
+
+    @Test
+    public void pendingTestsNeverGoNegative() {
+        GridScalingController controller = controller(1, 4, Duration.ofMinutes(1));
+        controller.setPendingTests(1);
+
+        controller.testFinished();
+        controller.testFinished();
+        controller.addPendingTests(2);
+
+        Assert.assertEquals(controller.getPendingTests(), 2);
+    }
+
+    private GridScalingController controller(int minNodes, int maxNodes, Duration scaleDownDelay) {
+        return new GridScalingController(runner, new GridStatusClient(hub.getUrl()), "chrome", SCALE,
+                minNodes, maxNodes, 5, scaleDownDelay, Duration.ofSeconds(5));
+    }
+
+    private static List<String> scaledTo(int replicas) {
+        return Collections.singletonList("kubectl scale deployment/selenium-node-chrome --replicas=" + replicas);
+    }
+}
@@ -0,0 +1,52 @@
+package com.UI.grid;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Unit tests for the health probe of {@link PortForwardTunnel}, with a sleep process standing in for kubectl
+ */
+public class PortForwardTunnelTest {
+
+    @Test
+    public void tunnelIsDownWhenTheLocalPortAcceptsButTheHubIsGone() throws Exception {
+        StubGridHub hub = new StubGridHub(0, 1, 0, "chrome");
+        int port = Integer.parseInt(hub.getUrl().substring(hub.getUrl().lastIndexOf(':') + 1));
+        try (PortForwardTunnel tunnel = new PortForwardTunnel(new RecordingCommandRunner(),
+                Arrays.asList("sleep", "60"), "localhost", port, Duration.ofMillis(100))) {
+            tunnel.start();
+            Assert.assertTrue(tunnel.awaitAvailable(Duration.ofSeconds(5)), "Tunnel to the stub hub not available");
+
+            // Like kubectl after losing the pod: the local port accepts connections and closes them
+            hub.close();
+            try (ServerSocket listener = new ServerSocket(port, 50, InetAddress.getByName("localhost"))) {
+                Thread acceptor = new Thread(() -> acceptAndClose(listener));
+                acceptor.setDaemon(true);
+                acceptor.start();
+
+                long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (tunnel.isAvailable() && System.nanoTime() < deadline) {
+                    Thread.sleep(50);
+                }
+                Assert.assertFalse(tunnel.isAvailable(), "Tunnel still reported available without a hub behind it");
+            }
+        }
+    }
+
+    private static void acceptAndClose(ServerSocket listener) {
+        while (!listener.isClosed()) {
+            try (Socket ignored = listener.accept()) {
+                // Drop the connection without answering
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+}
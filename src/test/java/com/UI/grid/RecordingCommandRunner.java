@@ -0,0 +1,44 @@
+package com.UI.grid;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Command runner that records commands instead of running them, for Grid lifecycle unit tests
+ */
+public class RecordingCommandRunner implements CommandRunner {
+    private final List<String> commands = new ArrayList<>();
+    private final Function<String, CommandResult> results;
+
+    /**
+     * Runner on which every command succeeds
+     */
+    public RecordingCommandRunner() {
+        this(command -> new CommandResult(0, "", false));
+    }
+
+    /**
+     * Runner that answers each command with the given result
+     * @param results Result for a command line
+     */
+    public RecordingCommandRunner(Function<String, CommandResult> results) {
+        this.results = results;
+    }
+
+    @Override
+    public synchronized CommandResult run(List<String> command, Duration timeout) {
+        String commandLine = String.join(" ", command);
+        commands.add(commandLine);
+        return results.apply(commandLine);
+    }
+
+    /**
+     * Get the command lines run so far, oldest first
+     * @return Snapshot of the recorded command lines
+     */
+    public synchronized List<String> getCommands() {
+        return new ArrayList<>(commands);
+    }
+}
@@ -0,0 +1,128 @@
+package com.UI.grid;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Local stand-in for a Selenium Grid hub that serves /status and the session queue on /graphql.
+ * Nodes report UP once the configured start-up delay has passed, which lets
+ * Grid bootstrap and scaling code be exercised without a cluster.
+ *
+ * Usage: StubGridHub [port=4444] [slots=2] [readyAfterMillis=5000] [browser=chrome]
+ */
+public class StubGridHub implements AutoCloseable {
+    private final HttpServer server;
+    private final long readyAtMillis;
+    private final String browser;
+    private volatile int slots;
+    private volatile int busySlots;
+    private volatile int nodes = 1;
+    private volatile int queuedSessions;
+
+    /**
+     * Start a stub hub
+     * @param port Port to listen on; 0 picks a free port
+     * @param slots Slots advertised once nodes are up
+     * @param readyAfterMillis Delay before nodes report UP
+     * @param browser Browser name of the advertised slots
+     * @throws IOException If the port cannot be bound
+     */
+    public StubGridHub(int port, int slots, long readyAfterMillis, String browser) throws IOException {
+        this.slots = slots;
+        this.browser = browser;
+        this.readyAtMillis = System.currentTimeMillis() + readyAfterMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/status", exchange -> respond(exchange, statusJson()));
+        server.createContext("/graphql", exchange -> respond(exchange, queueJson()));
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 4444;
+        int slots = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long readyAfter = args.length > 2 ? Long.parseLong(args[2]) : 5000;
+        String browser = args.length > 3 ? args[3] : "chrome";
+        StubGridHub hub = new StubGridHub(port, slots, readyAfter, browser);
+        System.out.println("Stub Grid hub listening on " + hub.getUrl());
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void setSlots(int slots) {
+        this.slots = slots;
+    }
+
+    public void setBusySlots(int busySlots) {
+        this.busySlots = busySlots;
+    }
+
+    /**
+     * Spread the advertised slots across this many nodes
+     * @param nodes Node count
+     */
+    public void setNodes(int nodes) {
+        this.nodes = nodes;
+    }
+
+    public void setQueuedSessions(int queuedSessions) {
+        this.queuedSessions = queuedSessions;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String statusJson() {
+        boolean up = System.currentTimeMillis() >= readyAtMillis;
+        int nodeCount = up ? nodes : 0;
+        StringBuilder nodeJson = new StringBuilder();
+        int slot = 0;
+        for (int n = 0; n < nodeCount; n++) {
+            // Earlier nodes take the remainder when slots do not divide evenly
+            int nodeSlots = slots / nodeCount + (n < slots % nodeCount ? 1 : 0);
+            StringBuilder slotJson = new StringBuilder();
+            for (int i = 0; i < nodeSlots; i++, slot++) {
+                if (i > 0) {
+                    slotJson.append(',');
+                }
+                slotJson.append("{\"stereotype\":{\"browserName\":\"").append(browser).append("\"},\"session\":")
+                        .append(slot < busySlots ? "{\"sessionId\":\"stub-" + slot + "\"}" : "null").append('}');
+            }
+            if (n > 0) {
+                nodeJson.append(',');
+            }
+            nodeJson.append("{\"uri\":\"http://stub-node-").append(n).append(":5555\",\"availability\":\"UP\",")
+                    .append("\"maxSessions\":").append(nodeSlots).append(",\"slots\":[").append(slotJson).append("]}");
+        }
+        return "{\"value\":{\"ready\":" + up + ",\"message\":\""
+                + (up ? "Selenium Grid ready." : "Selenium Grid not ready.") + "\",\"nodes\":[" + nodeJson + "]}}";
+    }
+
+    private String queueJson() {
+        StringBuilder requests = new StringBuilder();
+        for (int i = 0; i < queuedSessions; i++) {
+            if (i > 0) {
+                requests.append(',');
+            }
+            requests.append("\"{\\\"browserName\\\":\\\"").append(browser).append("\\\"}\"");
+        }
+        return "{\"data\":{\"sessionsInfo\":{\"sessionQueueRequests\":[" + requests + "]}}}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.UI.listeners;
+
+import com.UI.config.ConfigOverrides;
+import com.UI.grid.GridCapacityMonitor;
+import com.UI.grid.StubGridHub;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Unit tests for sizing the suite from Grid capacity with {@link GridCapacityListener} against a {@link StubGridHub}
+ */
+public class GridCapacityListenerTest {
+    private final ConfigOverrides config = new ConfigOverrides();
+    private StubGridHub hub;
+    private XmlSuite suite;
+
+    @BeforeMethod
+    public void startHub() throws IOException {
+        hub = new StubGridHub(0, 6, 0, "chrome");
+        config.set("execution.mode", "grid");
+        config.set("grid.url", hub.getUrl() + "/wd/hub");
+        config.set("browser", "chrome");
+        config.set("grid.parallelism.auto", "true");
+        config.set("grid.parallelism.max", "10");
+        config.set("grid.scale.enabled", "false");
+        suite = new XmlSuite();
+        suite.setName("stub suite");
+        suite.setThreadCount(3);
+        suite.setDataProviderThreadCount(3);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopHub() {
+        GridCapacityMonitor.stop();
+        hub.close();
+        config.restore();
+    }
+
+    @Test
+    public void threadCountFollowsGridSlots() {
+        new GridCapacityListener().alter(Collections.singletonList(suite));
+
+        Assert.assertEquals(suite.getThreadCount(), 6);
+        Assert.assertEquals(suite.getDataProviderThreadCount(), 6);
+        Assert.assertEquals(GridCapacityMonitor.getLimit(), 6);
+    }
+
+    @Test
+    public void threadCountIsCappedByParallelismMax() {
+        config.set("grid.parallelism.max", "4");
+
+        new GridCapacityListener().alter(Collections.singletonList(suite));
+
+        Assert.assertEquals(suite.getThreadCount(), 4);
+    }
+
+    @Test
+    public void unknownCapacityKeepsSuiteThreadCounts() {
+        hub.close();
+
+        new GridCapacityListener().alter(Collections.singletonList(suite));
+
+        Assert.assertEquals(suite.getThreadCount(), 3);
+        Assert.assertEquals(suite.getDataProviderThreadCount(), 3);
+    }
+
+    @Test
+    public void localExecutionIsLeftAlone() {
+        config.set("execution.mode", "local");
+
+        new GridCapacityListener().alter(Collections.singletonList(suite));
+
+        Assert.assertEquals(suite.getThreadCount(), 3);
+        Assert.assertEquals(GridCapacityMonitor.getLimit(), Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,116 @@
+package com.UI.listeners;
+
+import com.UI.config.ConfigOverrides;
+import com.UI.grid.GridScalingController;
+import com.UI.grid.GridStatusClient;
+import com.UI.grid.RecordingCommandRunner;
+import com.UI.grid.StubGridHub;
+import org.testng.Assert;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Unit tests for the pending-test count {@link GridScalingListener} feeds to the scaling controller,
+ * from a nested TestNG run
+ */
+public class GridScalingListenerTest {
+    private final ConfigOverrides config = new ConfigOverrides();
+    private static final List<Integer> PENDING_SEEN = new CopyOnWriteArrayList<>();
+
+    private static GridScalingController controller;
+    private StubGridHub hub;
+
+    @BeforeMethod
+    public void startHub() throws IOException {
+        hub = new StubGridHub(0, 5, 0, "chrome");
+        config.set("execution.mode", "grid");
+        config.set("grid.parallelism.auto", "true");
+        config.set("grid.scale.enabled", "true");
+        config.set("grid.scale.poll.seconds", "60");
+        controller = new GridScalingController(new RecordingCommandRunner(), new GridStatusClient(hub.getUrl()),
+                "chrome", "scale {browser} {replicas}", 1, 4, 5, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        GridScalingListener.setController(controller);
+        PENDING_SEEN.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopHub() {
+        GridScalingListener.setController(null);
+        hub.close();
+        config.restore();
+    }
+
+    @Test
+    public void everyDataProviderRowIsPending() {
+        run(DataDrivenTests.class);
+
+        // Each row sees itself and the rows after it as pending
+        Assert.assertEquals(PENDING_SEEN, Arrays.asList(3, 2, 1));
+        Assert.assertEquals(controller.getPendingTests(), 0);
+    }
+
+    @Test
+    public void retriedAttemptStaysPendingUntilItsRerunFinishes() {
+        run(RetriedTests.class);
+
+        Assert.assertEquals(PENDING_SEEN, Arrays.asList(1, 1));
+        Assert.assertEquals(controller.getPendingTests(), 0);
+    }
+
+    private static void run(Class<?> testClass) {
+        TestNG testNG = new TestNG();
+        testNG.setUseDefaultListeners(false);
+        testNG.setVerbose(0);
+        testNG.setTestClasses(new Class[]{testClass});
+        testNG.addListener(new GridScalingListener());
+        testNG.run();
+    }
+
+    static class DataDrivenTests {
+        @DataProvider
+        public Object[][] rows() {
+            return new Object[][]{{"first"}, {"second"}, {"third"}};
+        }
+
+        @Test(dataProvider = "rows")
+        public void row(String name) {
+            PENDING_SEEN.add(controller.getPendingTests());
+        }
+    }
+
+    static class RetriedTests {
+        private int attempts;
+
+        @Test(retryAnalyzer = RetryOnce.class)
+        public void flaky() {
+            PENDING_SEEN.add(controller.getPendingTests());
+            if (++attempts == 1) {
+                throw new IllegalStateException("first attempt fails");
+            }
+        }
+    }
+
+    public static class RetryOnce implements IRetryAnalyzer {
+        private boolean retried;
+
+        @Override
+        public boolean retry(ITestResult result) {
+            if (retried) {
+                return false;
+            }
+            retried = true;
+            return true;
+        }
+    }
+}
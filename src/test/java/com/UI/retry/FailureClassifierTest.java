@@ -0,0 +1,60 @@
+package com.UI.retry;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Unit tests for {@link FailureClassifier}
+ */
+public class FailureClassifierTest {
+
+    @Test
+    public void connectionFailuresBelowWebDriverExceptionAreTransient() {
+        Assert.assertEquals(FailureClassifier.classify(
+                new WebDriverException(new UncheckedIOException(new ConnectException("refused")))), FailureClass.TRANSIENT);
+        Assert.assertEquals(FailureClassifier.classify(
+                new WebDriverException(new TimeoutException())), FailureClass.TRANSIENT);
+        Assert.assertEquals(FailureClassifier.classify(
+                new UnreachableBrowserException("Error communicating with the remote browser")), FailureClass.TRANSIENT);
+    }
+
+    @Test
+    public void ioErrorsOutsideTheDriverAreFatal() {
+        Assert.assertEquals(FailureClassifier.classify(new FileNotFoundException("testdata.xlsx")), FailureClass.FATAL);
+        Assert.assertEquals(FailureClassifier.classify(
+                new UncheckedIOException(new IOException("Stream closed"))), FailureClass.FATAL);
+        Assert.assertEquals(FailureClassifier.classify(
+                new RuntimeException(new TimeoutException())), FailureClass.FATAL);
+    }
+
+    @Test
+    public void gatewayErrorsInTheMessageAreTransient() {
+        Assert.assertEquals(FailureClassifier.classify(
+                new WebDriverException("Response code 502. Message: Bad Gateway")), FailureClass.TRANSIENT);
+        Assert.assertEquals(FailureClassifier.classify(new WebDriverException("element not interactable")),
+                FailureClass.FATAL);
+    }
+
+    @Test
+    public void elementAndSessionFailures() {
+        Assert.assertEquals(FailureClassifier.classify(new StaleElementReferenceException("stale")), FailureClass.STALE);
+        Assert.assertEquals(FailureClassifier.classify(
+                new NoSuchSessionException("gone", new UncheckedIOException(new IOException()))), FailureClass.FATAL);
+        Assert.assertEquals(FailureClassifier.classify(
+                new SessionNotCreatedException("No slot available")), FailureClass.TRANSIENT);
+        Assert.assertEquals(FailureClassifier.classify(
+                new SessionNotCreatedException("This version of ChromeDriver only supports Chrome version 114")),
+                FailureClass.FATAL);
+    }
+}
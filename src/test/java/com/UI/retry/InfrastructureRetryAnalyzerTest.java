@@ -0,0 +1,122 @@
+package com.UI.retry;
+
+import com.UI.config.ConfigOverrides;
+import com.UI.listeners.RerunListener;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.Reporter;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Unit tests for {@link InfrastructureRetryAnalyzer} attached by {@link RerunListener}, from a nested TestNG run
+ */
+public class InfrastructureRetryAnalyzerTest {
+    private final ConfigOverrides config = new ConfigOverrides();
+    // "<row>#<rerun number>" for every invocation of the nested tests
+    private static final List<String> INVOCATIONS = new CopyOnWriteArrayList<>();
+
+    @BeforeMethod
+    public void configure() {
+        config.set("rerun.enabled", "true");
+        config.set("rerun.max.per.test", "1");
+        config.set("rerun.max.suite", "100");
+        INVOCATIONS.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreConfig() {
+        config.restore();
+    }
+
+    @Test
+    public void infrastructureFailureIsRerunWithTheSameRow() {
+        TestListenerAdapter results = run(InfrastructureFailureTests.class);
+
+        Assert.assertEquals(INVOCATIONS, Arrays.asList("first#0", "second#0", "second#1"));
+        Assert.assertEquals(results.getPassedTests().size(), 2);
+        Assert.assertEquals(results.getFailedTests().size(), 0);
+    }
+
+    @Test
+    public void assertionFailureIsNotRerun() {
+        TestListenerAdapter results = run(AssertionFailureTests.class);
+
+        Assert.assertEquals(INVOCATIONS, Arrays.asList("assertion#0"));
+        Assert.assertEquals(results.getFailedTests().size(), 1);
+    }
+
+    @Test
+    public void invocationCountIsNotARerun() {
+        TestListenerAdapter results = run(RepeatedTests.class);
+
+        Assert.assertEquals(INVOCATIONS, Arrays.asList("repeated#0", "repeated#1", "repeated#0"));
+        Assert.assertEquals(results.getFailedTests().size(), 0);
+    }
+
+    private static TestListenerAdapter run(Class<?> testClass) {
+        TestListenerAdapter results = new TestListenerAdapter();
+        TestNG testNG = new TestNG();
+        testNG.setUseDefaultListeners(false);
+        testNG.setVerbose(0);
+        testNG.setTestClasses(new Class[]{testClass});
+        testNG.addListener(new RerunListener());
+        testNG.addListener(results);
+        testNG.run();
+        return results;
+    }
+
+    private static int record(String row) {
+        int attempt = InfrastructureRetryAnalyzer.getAttempt(Reporter.getCurrentTestResult());
+        INVOCATIONS.add(row + "#" + attempt);
+        return attempt;
+    }
+
+    private static WebDriverException connectionFailure() {
+        return new WebDriverException(new UncheckedIOException(new ConnectException("Connection refused")));
+    }
+
+    static class InfrastructureFailureTests {
+        @DataProvider
+        public Object[][] rows() {
+            return new Object[][]{{"first"}, {"second"}};
+        }
+
+        @Test(dataProvider = "rows")
+        public void row(String name) {
+            if (record(name) == 0 && "second".equals(name)) {
+                throw connectionFailure();
+            }
+        }
+    }
+
+    static class AssertionFailureTests {
+        @Test
+        public void assertion() {
+            record("assertion");
+            Assert.fail("wrong page title");
+        }
+    }
+
+    static class RepeatedTests {
+        private int invocations;
+
+        @Test(invocationCount = 2)
+        public void repeated() {
+            record("repeated");
+            if (++invocations == 1) {
+                throw connectionFailure();
+            }
+        }
+    }
+}
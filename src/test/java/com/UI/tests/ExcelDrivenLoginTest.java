@@ -11,7 +11,7 @@ import static com.UI.constants.FrameworkConstants.SHEET_NAME;
 import static com.UI.constants.FrameworkConstants.TEST_DATA_FILE;
 
 public class ExcelDrivenLoginTest extends BaseTest {
-    @DataProvider(name = "loginDataFromExcel")
+    @DataProvider(name = "loginDataFromExcel", parallel = true)
     public Object[][] getLoginData() {
         return getTestData(TEST_DATA_FILE, SHEET_NAME);
     }